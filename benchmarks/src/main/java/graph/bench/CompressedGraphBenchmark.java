@@ -0,0 +1,71 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CompressedGraph;
+import graph.model.GraphView;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Decode throughput and whole-pass cost of the varint-encoded graph against the
+ * CsrGraph it was built from. Bytes per edge are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class CompressedGraphBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Encoded {
+        public CompressedGraph compressed;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphState graph) {
+            compressed = CompressedGraph.encode(graph.csr);
+            System.out.printf("%n%s vs %.2f bytes/edge uncompressed%n", compressed,
+                    (double) graph.csr.heapBytes() / Math.max(graph.csr.m, 1));
+        }
+    }
+
+    private static long scan(GraphView graph) {
+        long checksum = 0;
+        GraphView.EdgeCursor edges = graph.edges();
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            edges.reset(u);
+            while (edges.next()) {
+                checksum += edges.target() + edges.weight();
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long scanCsr(GraphState graph) {
+        return scan(graph.csr);
+    }
+
+    @Benchmark
+    public long scanCompressed(Encoded encoded) {
+        return scan(encoded.compressed);
+    }
+
+    @Benchmark
+    public int iterativeSccCompressed(Encoded encoded) {
+        return new IterativeSCC(encoded.compressed, new Metrics()).compute();
+    }
+
+    @Benchmark
+    public int[] kahnTopoSortCompressed(Encoded encoded) {
+        return new TopologicalSort(new Metrics()).kahnTopoSort(encoded.compressed);
+    }
+
+    @Benchmark
+    public int[] shortestPathCompressed(GraphState graph, Encoded encoded) {
+        return new DAGShortestPath(new Metrics()).shortestPath(encoded.compressed, graph.topoOrder);
+    }
+}
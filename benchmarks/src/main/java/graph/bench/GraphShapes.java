@@ -0,0 +1,89 @@
+package graph.bench;
+
+import graph.model.CsrGraph;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded graph families for the benchmarks. All weights are in [1, 9].
+ */
+public final class GraphShapes {
+    public enum Shape {
+        CHAIN, SPARSE, DENSE, CYCLIC
+    }
+
+    private static final long SEED = 0x5eed;
+    private static final int DENSE_DEGREE = 32;
+    private static final int MAX_DENSE_EDGES = 64_000_000;
+    private static final int CYCLE_SIZE = 100;
+
+    private GraphShapes() {
+    }
+
+    public static CsrGraph generate(Shape shape, int n) {
+        switch (shape) {
+            case CHAIN:
+                return chain(n);
+            case SPARSE:
+                return random(n, 4L * n);
+            case DENSE:
+                return random(n, Math.min((long) DENSE_DEGREE * n, MAX_DENSE_EDGES));
+            case CYCLIC:
+                return cycleHeavy(n);
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    // 0 -> 1 -> ... -> n-1: the deepest possible DFS.
+    private static CsrGraph chain(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int m = Math.max(n - 1, 0);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+            weight[i] = 1 + random.nextInt(9);
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, m);
+    }
+
+    // Uniform random endpoints, so cycles and one giant SCC appear once m/n passes 1.
+    private static CsrGraph random(int n, long edges) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int m = (int) edges;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weight[i] = 1 + random.nextInt(9);
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, m);
+    }
+
+    // Rings of CYCLE_SIZE nodes joined by forward edges: many mid-sized SCCs in a DAG of rings.
+    private static CsrGraph cycleHeavy(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int m = 2 * n;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            int ringStart = v - v % CYCLE_SIZE;
+            int ringEnd = Math.min(ringStart + CYCLE_SIZE, n);
+            from[size] = v;
+            to[size] = v + 1 < ringEnd ? v + 1 : ringStart;
+            weight[size++] = 1 + random.nextInt(9);
+            if (ringEnd < n) {
+                from[size] = v;
+                to[size] = ringEnd + random.nextInt(n - ringEnd);
+                weight[size++] = 1 + random.nextInt(9);
+            }
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, size);
+    }
+}
@@ -0,0 +1,58 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One generated graph per (nodes, shape) trial, in every representation the
+ * algorithms accept, plus the topological orders the path passes need.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int nodes;
+
+    @Param({"CHAIN", "SPARSE", "DENSE", "CYCLIC"})
+    public GraphShapes.Shape shape;
+
+    public CsrGraph csr;
+    public List<List<Integer>> adjacency;
+    public DAGShortestPath.Graph weighted;
+
+    public List<List<Integer>> condensation;
+    public CsrGraph condensationCsr;
+    public int[] topoOrder;
+    public List<Integer> topoOrderList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        csr = GraphShapes.generate(shape, nodes);
+        adjacency = csr.toAdjacencyList();
+        weighted = new DAGShortestPath.Graph(csr.n, csr.source);
+        for (int u = 0; u < csr.n; u++) {
+            for (int e = csr.edgeStart(u); e < csr.edgeEnd(u); e++) {
+                weighted.addEdge(u, csr.target(e), csr.weight(e));
+            }
+        }
+
+        IterativeSCC scc = new IterativeSCC(csr, new Metrics());
+        condensation = scc.buildCondensationGraph();
+        condensationCsr = CsrGraph.fromAdjacency(condensation);
+        TopologicalSort topo = new TopologicalSort(new Metrics());
+        int[] compOrder = topo.kahnTopoSort(condensationCsr);
+        topoOrder = topo.getOriginalNodeOrder(scc.getComponentOffsets(), scc.getComponentMembers(), compOrder);
+        topoOrderList = new ArrayList<>(topoOrder.length);
+        for (int v : topoOrder) {
+            topoOrderList.add(v);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class PathBenchmark {
+
+    @Benchmark
+    public int[] shortestPath(GraphState graph) {
+        return new DAGShortestPath(new Metrics()).shortestPath(graph.weighted, graph.topoOrderList);
+    }
+
+    @Benchmark
+    public int[] longestPath(GraphState graph) {
+        return new DAGShortestPath(new Metrics()).longestPath(graph.weighted, graph.topoOrderList);
+    }
+
+    @Benchmark
+    public int[] shortestPathCsr(GraphState graph) {
+        return new DAGShortestPath(new Metrics()).shortestPath(graph.csr, graph.topoOrder);
+    }
+
+    @Benchmark
+    public int[] longestPathCsr(GraphState graph) {
+        return new DAGShortestPath(new Metrics()).longestPath(graph.csr, graph.topoOrder);
+    }
+}
@@ -0,0 +1,63 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PathResult;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * reconstructPath rescans the topological order for every hop, so it only gets the
+ * smaller sizes by default; override with -p nodes=... to push it further.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class ReconstructPathBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Distances {
+        @Param({"1000", "10000"})
+        public int nodes;
+
+        @Param({"CHAIN", "SPARSE", "DENSE", "CYCLIC"})
+        public GraphShapes.Shape shape;
+
+        public GraphState graph;
+        public int[] longest;
+        public PathResult longestTree;
+        public int target;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = new GraphState();
+            graph.nodes = nodes;
+            graph.shape = shape;
+            graph.setUp();
+
+            DAGShortestPath sp = new DAGShortestPath(new Metrics());
+            longest = sp.longestPath(graph.weighted, graph.topoOrderList);
+            longestTree = sp.longestPathTree(graph.csr, graph.topoOrder);
+            target = graph.csr.source;
+            for (int v = 0; v < longest.length; v++) {
+                if (longest[v] != Integer.MIN_VALUE && longest[v] > longest[target]) {
+                    target = v;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Integer> reconstructPath(Distances state) {
+        return new DAGShortestPath(new Metrics())
+                .reconstructPath(state.longest, state.graph.weighted, state.target, state.graph.topoOrderList);
+    }
+
+    @Benchmark
+    public List<Integer> pathTo(Distances state) {
+        return state.longestTree.pathTo(state.target);
+    }
+}
@@ -0,0 +1,71 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.scc.IterativeSCC;
+import graph.scc.SCC;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "-Xss1g"})
+public class SccBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Solved {
+        public SCC tarjan;
+        public IterativeSCC iterative;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphState graph) {
+            tarjan = new SCC(graph.csr.n, graph.adjacency, new Metrics());
+            tarjan.findSCCs();
+            iterative = new IterativeSCC(graph.csr, new Metrics());
+            iterative.compute();
+        }
+    }
+
+    // The recursive engine runs on a 1 GiB thread stack so deep chains can complete. The thread is
+    // created once per trial, so invocations do not pay for starting it.
+    @State(Scope.Benchmark)
+    public static class DeepStack {
+        public ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = Executors.newSingleThreadExecutor(task -> new Thread(null, task, "tarjan", 1L << 30));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public List<List<Integer>> findSCCs(GraphState graph, DeepStack stack)
+            throws InterruptedException, ExecutionException {
+        return stack.executor.submit(() -> new SCC(graph.csr.n, graph.adjacency, new Metrics()).findSCCs()).get();
+    }
+
+    @Benchmark
+    public int iterativeFindSCCs(GraphState graph) {
+        return new IterativeSCC(graph.csr, new Metrics()).compute();
+    }
+
+    @Benchmark
+    public List<List<Integer>> buildCondensationGraph(Solved solved) {
+        return solved.tarjan.buildCondensationGraph();
+    }
+
+    @Benchmark
+    public List<List<Integer>> iterativeBuildCondensationGraph(Solved solved) {
+        return solved.iterative.buildCondensationGraph();
+    }
+}
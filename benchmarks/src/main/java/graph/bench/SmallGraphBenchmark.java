@@ -0,0 +1,76 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CsrGraph;
+import graph.scc.SCC;
+import graph.topo.TopologicalSort;
+import graph.workspace.SolverWorkspace;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Many tiny graphs, sized like the datasets in src/data, through the allocating
+ * pipeline and through a reused SolverWorkspace. Run with the GC profiler to
+ * compare allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SmallGraphBenchmark {
+    @Param({"8", "20", "50"})
+    public int nodes;
+
+    private CsrGraph[] graphs;
+    private int next;
+    private final Metrics metrics = new Metrics();
+    private SolverWorkspace workspace;
+    private int[] componentId;
+    private int[] order;
+    private int[] dist;
+    private int[] predecessor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphShapes.Shape[] shapes = GraphShapes.Shape.values();
+        graphs = new CsrGraph[64];
+        for (int i = 0; i < graphs.length; i++) {
+            graphs[i] = GraphShapes.generate(shapes[i % shapes.length], nodes);
+        }
+        workspace = new SolverWorkspace(metrics);
+        componentId = new int[nodes];
+        order = new int[nodes];
+        dist = new int[nodes];
+        predecessor = new int[nodes];
+    }
+
+    private CsrGraph nextGraph() {
+        next = (next + 1) & (graphs.length - 1);
+        return graphs[next];
+    }
+
+    @Benchmark
+    public int[] allocatingPipeline() {
+        CsrGraph graph = nextGraph();
+        SCC scc = new SCC(graph.n, graph.toAdjacencyList(), metrics);
+        List<List<Integer>> components = scc.findSCCs();
+        TopologicalSort topo = new TopologicalSort(metrics);
+        List<Integer> compOrder = topo.kahnTopoSort(scc.buildCondensationGraph());
+        List<Integer> nodeOrder = topo.getOriginalNodeOrder(components, compOrder);
+        int[] order = new int[nodeOrder.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = nodeOrder.get(i);
+        }
+        return new DAGShortestPath(metrics).shortestPath(graph, order);
+    }
+
+    @Benchmark
+    public int[] workspacePipeline() {
+        workspace.solve(nextGraph(), false, componentId, order, dist, predecessor);
+        return dist;
+    }
+}
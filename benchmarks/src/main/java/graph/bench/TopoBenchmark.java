@@ -0,0 +1,31 @@
+package graph.bench;
+
+import graph.Metrics;
+import graph.topo.LevelTopologicalSort;
+import graph.topo.TopologicalSort;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class TopoBenchmark {
+
+    @Benchmark
+    public List<Integer> kahnTopoSort(GraphState graph) {
+        return new TopologicalSort(new Metrics()).kahnTopoSort(graph.condensation);
+    }
+
+    @Benchmark
+    public int[] kahnTopoSortCsr(GraphState graph) {
+        return new TopologicalSort(new Metrics()).kahnTopoSort(graph.condensationCsr);
+    }
+
+    @Benchmark
+    public int[][] levelTopoSort(GraphState graph) {
+        return new LevelTopologicalSort(new Metrics()).levelTopoSort(graph.condensationCsr);
+    }
+}
@@ -1,144 +1,475 @@
 package graph;
 
+import graph.scc.Condensation;
+import graph.scc.IterativeSCC;
+import graph.scc.ParallelSCC;
 import graph.scc.SCC;
+import graph.scc.SCCFinder;
+import graph.scc.SemiExternalSCC;
+import graph.topo.LevelTopologicalSort;
+import graph.topo.SemiExternalTopologicalSort;
 import graph.topo.TopologicalSort;
+import graph.dagsp.CriticalPathMethod;
+import graph.dagsp.CriticalPathSchedule;
 import graph.dagsp.DAGShortestPath;
+import graph.dagsp.KBestPaths;
+import graph.dagsp.KPathResult;
+import graph.dagsp.ListSchedule;
+import graph.dagsp.ListScheduler;
+import graph.dagsp.PathResult;
+import graph.batch.BatchPipeline;
+import graph.batch.ReportWriter;
+import graph.gen.GraphGenerator;
+import graph.io.BinaryGraphFormat;
+import graph.io.GraphLoader;
+import graph.io.MappedGraph;
+import graph.model.CompressedGraph;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.model.GraphView;
+import graph.partition.PartitionedPipeline;
+import graph.partition.PartitionedResult;
+import graph.server.DistanceCache;
+import graph.server.GraphAnalysis;
+import graph.server.GraphRegistry;
+import graph.server.QueryServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("convert")) {
+            long start = System.nanoTime();
+            BinaryGraphFormat.convert(Paths.get(args[1]), Paths.get(args[2]));
+            System.out.printf("Converted %s -> %s in %.3f ms%n", args[1], args[2], (System.nanoTime() - start) / 1e6);
+            return;
+        }
+
+        if (args.length >= 4 && args[0].equals("generate")) {
+            GraphGenerator generator = new GraphGenerator(GraphGenerator.Family.valueOf(args[1].toUpperCase()),
+                    Integer.parseInt(args[2]), args.length > 4 ? Long.parseLong(args[4]) : 42L);
+            if (args.length > 5) {
+                generator.averageDegree(Double.parseDouble(args[5]));
+            }
+            long start = System.nanoTime();
+            long edges = args[3].endsWith(".bin")
+                    ? generator.writeBinary(Paths.get(args[3]))
+                    : generator.writeJson(Paths.get(args[3]));
+            System.out.printf("Generated %s: n=%d, edges=%d in %.3f ms%n",
+                    args[3], generator.getNodeCount(), edges, (System.nanoTime() - start) / 1e6);
+            return;
+        }
+
+        if (args.length >= 3 && args[0].equals("batch")) {
+            runBatch(Paths.get(args[1]), Paths.get(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors());
+            return;
+        }
+
+        if (args.length >= 2 && args[0].equals("serve")) {
+            serve(Integer.parseInt(args[1]), Arrays.copyOfRange(args, 2, args.length));
+            return;
+        }
+
+        if (args.length >= 2 && args[0].equals("external")) {
+            runExternal(Paths.get(args[1]), (args.length > 2 ? Long.parseLong(args[2]) : 64L) << 20);
+            return;
+        }
+
+        if (args.length >= 2 && args[0].equals("schedule")) {
+            runSchedule(loadGraph(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 4);
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals("compress")) {
+            printCompression(loadGraph(args[1]));
+            return;
+        }
+
+        if (args.length >= 2 && args[0].equals("split")) {
+            runSplit(loadGraph(args[1]),
+                    args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors());
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals("scc-speedup")) {
+            printSccSpeedup(loadGraph(args[1]));
+            return;
+        }
+
         System.out.println("=== Smart City Scheduling - Graph Algorithms ===\n");
 
-        TestGraphData data = createTestData();
-        System.out.println("Test Graph: " + data);
+        GraphView graph;
+        String weightModel;
+        int[] durations;
+        if (args.length > 0 && args[0].endsWith(".bin")) {
+            MappedGraph mapped = openSnapshot(args[0]);
+            graph = mapped;
+            weightModel = mapped.getWeightModel();
+            durations = null;
+        } else {
+            GraphData data = args.length > 0 ? loadDataset(args[0]) : createTestData();
+            graph = data.toCsr();
+            weightModel = data.weightModel;
+            durations = data.nodeDurations();
+        }
+        System.out.println("Test Graph: " + graph);
 
-        Metrics metrics = new Metrics();
+        Metrics metrics = new Metrics().forGraph(args.length > 0 ? args[0] : "test-data");
 
         // 1. Strongly Connected Components
         System.out.println("\n--- 1. Strongly Connected Components ---");
-        SCC sccFinder = new SCC(data.n, data.graph, metrics);
+        SCCFinder sccFinder = newSCCFinder(graph, metrics);
         List<List<Integer>> components = sccFinder.findSCCs();
         sccFinder.printComponents();
-        System.out.println("SCC " + metrics);
-        metrics.reset();
+        System.out.println(metrics.summary(Metrics.Phase.SCC));
 
         // 2. Condensation graph and topological sort
         System.out.println("\n--- 2. Condensation Graph & Topological Sort ---");
-        List<List<Integer>> condensation = sccFinder.buildCondensationGraph();
-        System.out.println("Condensation graph has " + condensation.size() + " nodes");
+        CsrGraph condensation = CsrGraph.fromAdjacency(sccFinder.buildCondensationGraph());
+        System.out.println("Condensation graph has " + condensation.nodeCount() + " nodes");
+        System.out.println(metrics.summary(Metrics.Phase.CONDENSATION));
 
         TopologicalSort topo = new TopologicalSort(metrics);
-        List<Integer> compTopoOrder = topo.kahnTopoSort(condensation);
+        int[] compTopoOrder = topo.kahnTopoSort(condensation);
         topo.printTopoOrder(compTopoOrder);
-        System.out.println("Topo Sort " + metrics);
-        metrics.reset();
+        int[][] levels = new LevelTopologicalSort(new Metrics()).levelTopoSort(condensation);
+        System.out.println("Topological levels (" + levels.length + "): " + Arrays.deepToString(levels));
+        System.out.println(metrics.summary(Metrics.Phase.TOPO));
 
-        List<Integer> originalTopoOrder = topo.getOriginalNodeOrder(components, compTopoOrder);
-        System.out.println("Original nodes order: " + originalTopoOrder);
+        int[] originalTopoOrder = topo.getOriginalNodeOrder(sccFinder.getComponentOffsets(),
+                sccFinder.getComponentMembers(), compTopoOrder);
+        System.out.println("Original nodes order: " + Arrays.toString(originalTopoOrder));
 
         // 3. Shortest and Longest Paths in DAG
         System.out.println("\n--- 3. Shortest/Longest Paths in DAG ---");
-        DAGShortestPath.Graph weightedGraph = buildWeightedGraph(data);
-        weightedGraph.printGraph();
+        graph.printGraph();
 
         DAGShortestPath sp = new DAGShortestPath(metrics);
 
-        int[] shortestDist = sp.shortestPath(weightedGraph, originalTopoOrder);
+        int[] shortestDist = sp.shortestPath(graph, originalTopoOrder);
         sp.printDistances(shortestDist, "Shortest");
 
-        metrics.reset();
-        int[] longestDist = sp.longestPath(weightedGraph, originalTopoOrder);
-        sp.printDistances(longestDist, "Longest");
+        PathResult longest = sp.longestPathTree(graph, originalTopoOrder);
+        sp.printDistances(longest.getDistances(), "Longest");
 
-        findCriticalPath(longestDist, weightedGraph, originalTopoOrder, sp);
+        findCriticalPath(longest, graph, metrics);
+        findTopCriticalPaths(graph, metrics, Integer.getInteger("paths.k", 3));
 
-        System.out.println("Shortest Path " + metrics);
-    }
+        System.out.println(metrics.summary(Metrics.Phase.SP));
+        System.out.println(metrics.summary(Metrics.Phase.LP));
+        System.out.println(metrics.summary(Metrics.Phase.RECONSTRUCT));
 
-    private static TestGraphData createTestData() {
-        TestGraphData data = new TestGraphData();
-        data.n = 8;
-        data.source = 4;
+        // 4. Critical Path Method over the condensation
+        System.out.println("\n--- 4. Critical Path Method (" + weightModel + " weights) ---");
+        CriticalPathMethod.WeightModel model = CriticalPathMethod.WeightModel.fromName(weightModel);
+        if (model == CriticalPathMethod.WeightModel.NODE && durations == null) {
+            durations = new int[graph.nodeCount()];
+            Arrays.fill(durations, 1);
+        }
+        CriticalPathSchedule schedule = new CriticalPathMethod(metrics)
+                .schedule(graph, componentIds(components, graph.nodeCount()), components.size(), model, durations);
+        schedule.printSchedule();
+        System.out.println("Critical tasks: " + Arrays.toString(schedule.criticalTasks()));
+        System.out.println(metrics.summary(Metrics.Phase.CPM));
+
+        // 5. List scheduling of the condensation on a fixed crew
+        int workers = Integer.getInteger("schedule.workers", 2);
+        System.out.println("\n--- 5. List Scheduling (" + workers + " workers) ---");
+        int[] blockDurations = new int[components.size()];
+        for (int c = 0; c < components.size(); c++) {
+            for (int node : components.get(c)) {
+                blockDurations[c] += durations == null ? 1 : durations[node];
+            }
+        }
+        ListSchedule crew = new ListScheduler(metrics).schedule(condensation, compTopoOrder, blockDurations, workers);
+        crew.printSchedule();
+        System.out.println("Makespan " + crew.getMakespan() + " vs unlimited-crew bound "
+                + crew.criticalPathBound());
+        System.out.println(metrics.summary(Metrics.Phase.SCHEDULE));
 
-        data.graph = new ArrayList<>();
-        for (int i = 0; i < data.n; i++) {
-            data.graph.add(new ArrayList<>());
+        String format = System.getProperty("metrics.format");
+        if (format != null) {
+            System.out.println("\n--- Metrics (" + format + ") ---");
+            System.out.print(MetricsExporter.export(metrics, format));
         }
+    }
+
+    private static int[] componentIds(List<List<Integer>> components, int n) {
+        int[] ids = new int[n];
+        for (int c = 0; c < components.size(); c++) {
+            for (int node : components.get(c)) {
+                ids[node] = c;
+            }
+        }
+        return ids;
+    }
 
-        data.addEdge(0, 1);
-        data.addEdge(1, 2);
-        data.addEdge(2, 3);
-        data.addEdge(3, 1);
-        data.addEdge(4, 5);
-        data.addEdge(5, 6);
-        data.addEdge(6, 7);
+    private static GraphView loadGraph(String path) throws IOException {
+        return path.endsWith(".bin") ? openSnapshot(path) : loadDataset(path).toCsr();
+    }
 
-        data.weightedEdges = new ArrayList<>();
-        data.addWeightedEdge(0, 1, 3);
-        data.addWeightedEdge(1, 2, 2);
-        data.addWeightedEdge(2, 3, 4);
-        data.addWeightedEdge(3, 1, 1);
-        data.addWeightedEdge(4, 5, 2);
-        data.addWeightedEdge(5, 6, 5);
-        data.addWeightedEdge(6, 7, 1);
+    private static MappedGraph openSnapshot(String path) throws IOException {
+        long start = System.nanoTime();
+        MappedGraph graph = MappedGraph.open(Paths.get(path));
+        System.out.printf("Mapped %s in %.3f ms%n", path, (System.nanoTime() - start) / 1e6);
+        return graph;
+    }
 
+    private static GraphData loadDataset(String path) throws IOException {
+        GraphLoader loader = new GraphLoader();
+        GraphData data = loader.load(Paths.get(path));
+        System.out.println(loader.throughputReport());
         return data;
     }
 
-    private static DAGShortestPath.Graph buildWeightedGraph(TestGraphData data) {
-        DAGShortestPath.Graph graph = new DAGShortestPath.Graph(data.n, data.source);
-        for (TestGraphData.WeightedEdge edge : data.weightedEdges) {
-            graph.addEdge(edge.u, edge.v, edge.w);
+    private static SCCFinder newSCCFinder(GraphView graph, Metrics metrics) {
+        int parallelism = Integer.getInteger("scc.parallelism", 1);
+        if (parallelism > 1) {
+            return SCCFinder.forParallelism(graph, metrics, parallelism);
         }
-        return graph;
+        String engine = System.getProperty("scc.engine", "tarjan");
+        if (engine.equals("iterative")) {
+            return new IterativeSCC(graph, metrics);
+        }
+        return new SCC(graph, metrics);
     }
 
-    private static void findCriticalPath(int[] longestDist, DAGShortestPath.Graph graph,
-                                         List<Integer> topoOrder, DAGShortestPath sp) {
-        int maxDist = Integer.MIN_VALUE;
-        int criticalNode = -1;
+    private static void runBatch(Path directory, Path reportFile, int workers) throws IOException {
+        Metrics totals = new Metrics();
+        long start = System.nanoTime();
+        long files;
+        try (ReportWriter report = ReportWriter.open(reportFile)) {
+            files = new BatchPipeline(workers, totals).run(directory, report);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted", e);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Processed %d graphs with %d workers in %.3f s (%.1f graphs/s) -> %s%n",
+                files, workers, seconds, files / seconds, reportFile);
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            System.out.println(totals.summary(phase));
+        }
+    }
 
-        for (int i = 0; i < graph.n; i++) {
-            if (longestDist[i] > maxDist && longestDist[i] != Integer.MIN_VALUE) {
-                maxDist = longestDist[i];
-                criticalNode = i;
+    private static void serve(int port, String[] graphs) throws IOException {
+        Metrics metrics = new Metrics();
+        GraphRegistry registry = new GraphRegistry(metrics);
+        for (String spec : graphs) {
+            int eq = spec.indexOf('=');
+            String name = eq < 0 ? Paths.get(spec).getFileName().toString() : spec.substring(0, eq);
+            GraphAnalysis loaded = registry.load(name, Paths.get(eq < 0 ? spec : spec.substring(eq + 1)));
+            System.out.println("Loaded " + name + ": " + loaded.getGraph() + ", " + loaded.getComponentCount() + " components");
+        }
+
+        QueryServer server = new QueryServer(registry, new DistanceCache(Integer.getInteger("server.cache", 1024)), metrics);
+        server.start(new InetSocketAddress(port));
+        System.out.println("Query server listening on port " + server.getPort());
+    }
+
+    private static void runExternal(Path snapshot, long memoryBudget) throws IOException {
+        Metrics metrics = new Metrics().forGraph(snapshot.toString());
+        SemiExternalSCC scc = new SemiExternalSCC(snapshot, memoryBudget, metrics);
+        int components = scc.compute();
+        System.out.println(scc.ioReport());
+        System.out.println(metrics.summary(Metrics.Phase.SCC));
+
+        SemiExternalTopologicalSort topo = new SemiExternalTopologicalSort(snapshot, memoryBudget, metrics);
+        int[] componentOrder = topo.sort(scc.getComponentIds(), components);
+        int[] nodeOrder = SemiExternalTopologicalSort.nodeOrder(scc.getComponentIds(), componentOrder);
+        System.out.println(topo.ioReport());
+        System.out.println(metrics.summary(Metrics.Phase.TOPO));
+        System.out.println("First nodes in order: "
+                + Arrays.toString(Arrays.copyOf(nodeOrder, Math.min(nodeOrder.length, 16))));
+    }
+
+    private static void runSchedule(GraphView graph, int workers) {
+        Metrics metrics = new Metrics();
+        IterativeSCC scc = new IterativeSCC(graph, metrics);
+        CsrGraph condensation = scc.buildWeightedCondensation().unweightedGraph();
+        int[] order = new TopologicalSort(metrics).kahnTopoSort(condensation);
+        int[] offsets = scc.getComponentOffsets();
+        int[] durations = new int[scc.getComponentCount()];
+        for (int c = 0; c < durations.length; c++) {
+            durations[c] = offsets[c + 1] - offsets[c];
+        }
+
+        long start = System.nanoTime();
+        ListSchedule schedule = new ListScheduler(metrics).schedule(condensation, order, durations, workers);
+        System.out.printf("Scheduled %d tasks on %d workers in %.3f ms: makespan=%d (critical path %d), utilization=%.1f%%%n",
+                durations.length, workers, (System.nanoTime() - start) / 1e6,
+                schedule.getMakespan(), schedule.criticalPathBound(), 100 * schedule.utilization());
+    }
+
+    private static void printCompression(GraphView graph) {
+        final int runs = 5;
+        long start = System.nanoTime();
+        CompressedGraph compressed = CompressedGraph.encode(graph);
+        System.out.printf("Encoded %s in %.3f ms%n", compressed, (System.nanoTime() - start) / 1e6);
+        // Offsets, targets and weights as four-byte ints, as in CsrGraph and the binary snapshot.
+        long plainBytes = 4L * (graph.nodeCount() + 1) + 8L * graph.edgeCount();
+        System.out.printf("  %-12s %8.2f bytes/edge%n", "csr", (double) plainBytes / Math.max(graph.edgeCount(), 1));
+        System.out.printf("  %-12s %8.2f bytes/edge (%.1fx smaller)%n", "compressed", compressed.bytesPerEdge(),
+                (double) plainBytes / Math.max(compressed.heapBytes(), 1));
+
+        for (GraphView view : new GraphView[]{graph, compressed}) {
+            long scan = Long.MAX_VALUE;
+            long pipeline = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int run = 0; run < runs; run++) {
+                start = System.nanoTime();
+                checksum = 0;
+                GraphView.EdgeCursor edges = view.edges();
+                for (int u = 0; u < view.nodeCount(); u++) {
+                    edges.reset(u);
+                    while (edges.next()) {
+                        checksum += edges.target() + edges.weight();
+                    }
+                }
+                scan = Math.min(scan, System.nanoTime() - start);
+
+                Metrics metrics = new Metrics();
+                start = System.nanoTime();
+                GraphAnalysis analysis = GraphAnalysis.analyze("compress", 0, view, metrics);
+                analysis.paths(view.getSource(), false, metrics);
+                analysis.paths(view.getSource(), true, metrics);
+                pipeline = Math.min(pipeline, System.nanoTime() - start);
             }
+            System.out.printf("  %-12s decode %8.1f M edges/s   pipeline %10.3f ms   checksum=%d%n",
+                    view == graph ? "csr" : "compressed", view.edgeCount() / (scan / 1e3), pipeline / 1e6, checksum);
         }
+    }
 
-        if (criticalNode != -1) {
-            List<Integer> criticalPath = sp.reconstructPath(longestDist, graph, criticalNode, topoOrder);
-            System.out.println("\nCritical Path (Longest): " + criticalPath + " (length: " + maxDist + ")");
-        } else {
-            System.out.println("\nNo critical path found from source " + graph.source);
+    private static void runSplit(GraphView graph, int parallelism) {
+        final int runs = 5;
+        long single = Long.MAX_VALUE;
+        int expected = 0;
+        for (int run = 0; run < runs; run++) {
+            Metrics metrics = new Metrics();
+            long start = System.nanoTime();
+            GraphAnalysis analysis = GraphAnalysis.analyze("monolith", 0, graph, metrics);
+            analysis.paths(graph.getSource(), false, metrics);
+            analysis.paths(graph.getSource(), true, metrics);
+            single = Math.min(single, System.nanoTime() - start);
+            expected = analysis.getComponentCount();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long split = Long.MAX_VALUE;
+            PartitionedResult result = null;
+            for (int run = 0; run < runs; run++) {
+                long start = System.nanoTime();
+                result = new PartitionedPipeline(pool, new Metrics()).solve(graph);
+                split = Math.min(split, System.nanoTime() - start);
+            }
+            System.out.printf("Split %s into %d weakly connected pieces (%d batches, %d workers, best of %d runs)%n",
+                    graph, result.getPieceCount(), result.getBatchCount(), parallelism, runs);
+            System.out.printf("  monolith %10.3f ms  components=%d%n", single / 1e6, expected);
+            System.out.printf("  split    %10.3f ms  components=%d  speedup=%.2fx%n",
+                    split / 1e6, result.getComponentCount(), (double) single / split);
+        } finally {
+            pool.shutdown();
         }
     }
 
-    static class TestGraphData {
-        public int n;
-        public int source;
-        public List<List<Integer>> graph;
-        public List<WeightedEdge> weightedEdges;
+    private static void printSccSpeedup(GraphView graph) {
+        final int runs = 5;
+        System.out.println("SCC speedup on " + graph + " (best of " + runs + " runs)");
 
-        public void addEdge(int u, int v) {
-            graph.get(u).add(v);
+        // The baseline is the recursive Tarjan SCC; it gets a deep stack so long chains do not overflow.
+        long[] sequential = {Long.MAX_VALUE};
+        int[] expected = new int[1];
+        Thread baseline = new Thread(null, () -> {
+            for (int run = 0; run < runs; run++) {
+                Metrics metrics = new Metrics();
+                expected[0] = new SCC(graph, metrics).findSCCs().size();
+                sequential[0] = Math.min(sequential[0], metrics.getElapsedTime());
+            }
+        }, "scc-baseline", 1L << 30);
+        baseline.start();
+        try {
+            baseline.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         }
+        System.out.printf("  %-12s %10.3f ms  components=%d%n", "tarjan", sequential[0] / 1e6, expected[0]);
 
-        public void addWeightedEdge(int u, int v, int w) {
-            weightedEdges.add(new WeightedEdge(u, v, w));
+        for (int cores : new int[]{1, 2, 4, 8}) {
+            long best = Long.MAX_VALUE;
+            int count = 0;
+            for (int run = 0; run < runs; run++) {
+                Metrics metrics = new Metrics();
+                count = new ParallelSCC(graph, metrics, cores).compute();
+                best = Math.min(best, metrics.getElapsedTime());
+            }
+            System.out.printf("  %-12s %10.3f ms  components=%d  speedup=%.2fx%n",
+                    "parallel/" + cores, best / 1e6, count, (double) sequential[0] / best);
         }
+    }
+
+    private static GraphData createTestData() {
+        GraphData data = new GraphData();
+        data.n = 8;
+        data.source = 4;
+
+        data.addEdge(0, 1, 3);
+        data.addEdge(1, 2, 2);
+        data.addEdge(2, 3, 4);
+        data.addEdge(3, 1, 1);
+        data.addEdge(4, 5, 2);
+        data.addEdge(5, 6, 5);
+        data.addEdge(6, 7, 1);
+
+        return data;
+    }
+
+    private static void findTopCriticalPaths(GraphView graph, Metrics metrics, int k) {
+        // Enumerated on the condensation: inside a cycle there is no finite number of chains.
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+        Condensation condensation = scc.buildWeightedCondensation();
+        CsrGraph dag = condensation.longestGraph();
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        KPathResult top = new KBestPaths(metrics).longest(dag, order, k);
 
-        @Override
-        public String toString() {
-            return String.format("Graph[n=%d, edges=%d, source=%d]", n, graph.stream().mapToInt(List::size).sum(), source);
+        int[] offsets = scc.getComponentOffsets();
+        int[] members = scc.getComponentMembers();
+        System.out.println("Top " + k + " critical chains to a sink (components as member lists):");
+        for (int i = 0; i < top.topCount(); i++) {
+            List<List<Integer>> chain = new ArrayList<>();
+            for (int c : top.topPath(i)) {
+                List<Integer> block = new ArrayList<>();
+                for (int j = offsets[c]; j < offsets[c + 1]; j++) {
+                    block.add(members[j]);
+                }
+                chain.add(block);
+            }
+            System.out.println("  " + (i + 1) + ". " + chain + " (length: " + top.topDistance(i) + ")");
         }
+    }
+
+    private static void findCriticalPath(PathResult longest, GraphView graph, Metrics metrics) {
+        int maxDist = Integer.MIN_VALUE;
+        int criticalNode = -1;
 
-        static class WeightedEdge {
-            public int u, v, w;
-            public WeightedEdge(int u, int v, int w) {
-                this.u = u;
-                this.v = v;
-                this.w = w;
+        for (int i = 0; i < graph.nodeCount(); i++) {
+            if (longest.isReachable(i) && longest.distanceTo(i) > maxDist) {
+                maxDist = longest.distanceTo(i);
+                criticalNode = i;
             }
         }
+
+        if (criticalNode != -1) {
+            List<Integer> criticalPath = longest.pathTo(criticalNode, metrics);
+            System.out.println("\nCritical Path (Longest): " + criticalPath + " (length: " + maxDist + ")");
+        } else {
+            System.out.println("\nNo critical path found from source " + graph.getSource());
+        }
     }
-}
\ No newline at end of file
+}
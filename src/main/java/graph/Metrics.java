@@ -1,40 +1,177 @@
 package graph;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe operation counters and latency histograms, kept separately for every
+ * algorithm phase so later phases never overwrite earlier ones. Counters are striped
+ * LongAdders; algorithms count into locals inside their loops and add the totals once
+ * per run, which keeps the cost off the hot paths.
+ *
+ * The graph id that phase events carry is fixed per instance. forGraph(id) returns
+ * a view that shares every counter and histogram but names its own graph, so
+ * concurrent requests for different graphs each pass their id along with the
+ * metrics they record into, and nothing shared is ever rewritten.
+ */
 public class Metrics {
-    private long startTime;
-    private long endTime;
+    public enum Phase {
+        SCC("scc"),
+        CONDENSATION("condensation"),
+        TOPO("topo"),
+        SP("sp"),
+        LP("lp"),
+        RECONSTRUCT("reconstruct"),
+        CPM("cpm"),
+        SCHEDULE("schedule");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public enum Counter {
+        DFS_VISITS("dfs_visits"),
+        DFS_EDGES("dfs_edges"),
+        KAHN_PUSHES("kahn_pushes"),
+        KAHN_POPS("kahn_pops"),
+        RELAXATIONS("relaxations");
+
+        private final String label;
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private final Map<Phase, LongAdder[]> counters;
+    private final Map<Phase, LatencyHistogram> latencies;
+    private final AtomicLong lastElapsed;
+    private final String graphId;
+
+    public Metrics() {
+        this.counters = new EnumMap<>(Phase.class);
+        this.latencies = new EnumMap<>(Phase.class);
+        this.lastElapsed = new AtomicLong();
+        this.graphId = "";
+        for (Phase phase : Phase.values()) {
+            LongAdder[] adders = new LongAdder[Counter.values().length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            counters.put(phase, adders);
+            latencies.put(phase, new LatencyHistogram());
+        }
+    }
+
+    private Metrics(Metrics shared, String graphId) {
+        this.counters = shared.counters;
+        this.latencies = shared.latencies;
+        this.lastElapsed = shared.lastElapsed;
+        this.graphId = graphId;
+    }
+
+    /** The same counters and histograms, with events attributed to the given graph. */
+    public Metrics forGraph(String graphId) {
+        return new Metrics(this, graphId);
+    }
+
+    public void add(Phase phase, Counter counter, long amount) {
+        if (amount != 0) {
+            counters.get(phase)[counter.ordinal()].add(amount);
+        }
+    }
+
+    public void record(Phase phase, long elapsedNanos) {
+        latencies.get(phase).record(elapsedNanos);
+        lastElapsed.set(elapsedNanos);
+    }
+
+    public long get(Phase phase, Counter counter) {
+        return counters.get(phase)[counter.ordinal()].sum();
+    }
+
+    public long get(Counter counter) {
+        long total = 0;
+        for (LongAdder[] adders : counters.values()) {
+            total += adders[counter.ordinal()].sum();
+        }
+        return total;
+    }
+
+    public LatencyHistogram latency(Phase phase) {
+        return latencies.get(phase);
+    }
 
-    public int dfsVisits = 0;
-    public int dfsEdges = 0;
-    public int kahnPushes = 0;
-    public int kahnPops = 0;
-    public int relaxations = 0;
+    public long getDfsVisits() {
+        return get(Counter.DFS_VISITS);
+    }
+
+    public long getDfsEdges() {
+        return get(Counter.DFS_EDGES);
+    }
+
+    public long getKahnPushes() {
+        return get(Counter.KAHN_PUSHES);
+    }
 
-    public void startTimer() {
-        startTime = System.nanoTime();
+    public long getKahnPops() {
+        return get(Counter.KAHN_POPS);
     }
 
-    public void stopTimer() {
-        endTime = System.nanoTime();
+    public long getRelaxations() {
+        return get(Counter.RELAXATIONS);
+    }
+
+    public String getGraphId() {
+        return graphId;
     }
 
     public long getElapsedTime() {
-        return endTime - startTime;
+        return lastElapsed.get();
     }
 
     public void reset() {
-        dfsVisits = 0;
-        dfsEdges = 0;
-        kahnPushes = 0;
-        kahnPops = 0;
-        relaxations = 0;
+        for (Phase phase : Phase.values()) {
+            for (LongAdder adder : counters.get(phase)) {
+                adder.reset();
+            }
+            latencies.get(phase).reset();
+        }
+        lastElapsed.set(0);
+    }
+
+    public String summary(Phase phase) {
+        LatencyHistogram histogram = latencies.get(phase);
+        StringBuilder sb = new StringBuilder("Metrics[").append(phase.label());
+        for (Counter counter : Counter.values()) {
+            long value = get(phase, counter);
+            if (value != 0) {
+                sb.append(", ").append(counter.label()).append(": ").append(value);
+            }
+        }
+        return sb.append(String.format(", runs: %d, mean: %.0f ns, p50: %d ns, p99: %d ns, max: %d ns]",
+                histogram.getCount(), histogram.getMean(), histogram.percentile(50),
+                histogram.percentile(99), histogram.getMax())).toString();
     }
 
     @Override
     public String toString() {
         return String.format(
                 "Metrics[DFS Visits: %d, DFS Edges: %d, Kahn Pushes: %d, Kahn Pops: %d, Relaxations: %d, Time: %d ns]",
-                dfsVisits, dfsEdges, kahnPushes, kahnPops, relaxations, getElapsedTime()
+                getDfsVisits(), getDfsEdges(), getKahnPushes(), getKahnPops(), getRelaxations(), getElapsedTime()
         );
     }
-}
\ No newline at end of file
+}
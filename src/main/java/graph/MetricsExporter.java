@@ -0,0 +1,114 @@
+package graph;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders a Metrics snapshot as JSON, CSV (one row per phase) or the Prometheus
+ * text exposition format. Latencies are exported in nanoseconds.
+ */
+public final class MetricsExporter {
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private MetricsExporter() {
+    }
+
+    public static String export(Metrics metrics, String format) {
+        switch (format.toLowerCase()) {
+            case "json":
+                return toJson(metrics);
+            case "csv":
+                return toCsv(metrics);
+            case "prometheus":
+            case "prom":
+                return toPrometheus(metrics);
+            default:
+                throw new IllegalArgumentException("Unknown metrics format: " + format);
+        }
+    }
+
+    public static String toJson(Metrics metrics) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.writeStartObject();
+            for (Metrics.Phase phase : Metrics.Phase.values()) {
+                LatencyHistogram latency = metrics.latency(phase);
+                json.writeObjectFieldStart(phase.label());
+                for (Metrics.Counter counter : Metrics.Counter.values()) {
+                    json.writeNumberField(counter.label(), metrics.get(phase, counter));
+                }
+                json.writeNumberField("runs", latency.getCount());
+                json.writeNumberField("total_ns", latency.getTotal());
+                json.writeNumberField("min_ns", latency.getMin());
+                json.writeNumberField("max_ns", latency.getMax());
+                for (double p : PERCENTILES) {
+                    json.writeNumberField("p" + (int) p + "_ns", latency.percentile(p));
+                }
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    public static String toCsv(Metrics metrics) {
+        StringBuilder sb = new StringBuilder("phase");
+        for (Metrics.Counter counter : Metrics.Counter.values()) {
+            sb.append(',').append(counter.label());
+        }
+        sb.append(",runs,total_ns,min_ns,max_ns");
+        for (double p : PERCENTILES) {
+            sb.append(",p").append((int) p).append("_ns");
+        }
+        sb.append('\n');
+
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            LatencyHistogram latency = metrics.latency(phase);
+            sb.append(phase.label());
+            for (Metrics.Counter counter : Metrics.Counter.values()) {
+                sb.append(',').append(metrics.get(phase, counter));
+            }
+            sb.append(',').append(latency.getCount())
+                    .append(',').append(latency.getTotal())
+                    .append(',').append(latency.getMin())
+                    .append(',').append(latency.getMax());
+            for (double p : PERCENTILES) {
+                sb.append(',').append(latency.percentile(p));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static String toPrometheus(Metrics metrics) {
+        StringBuilder sb = new StringBuilder();
+        for (Metrics.Counter counter : Metrics.Counter.values()) {
+            String name = "graph_" + counter.label() + "_total";
+            sb.append("# TYPE ").append(name).append(" counter\n");
+            for (Metrics.Phase phase : Metrics.Phase.values()) {
+                sb.append(name).append("{phase=\"").append(phase.label()).append("\"} ")
+                        .append(metrics.get(phase, counter)).append('\n');
+            }
+        }
+
+        sb.append("# TYPE graph_phase_latency_ns summary\n");
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            LatencyHistogram latency = metrics.latency(phase);
+            for (double p : PERCENTILES) {
+                sb.append("graph_phase_latency_ns{phase=\"").append(phase.label())
+                        .append("\",quantile=\"").append(p / 100).append("\"} ")
+                        .append(latency.percentile(p)).append('\n');
+            }
+            sb.append("graph_phase_latency_ns_sum{phase=\"").append(phase.label()).append("\"} ")
+                    .append(latency.getTotal()).append('\n');
+            sb.append("graph_phase_latency_ns_count{phase=\"").append(phase.label()).append("\"} ")
+                    .append(latency.getCount()).append('\n');
+        }
+        return sb.toString();
+    }
+}
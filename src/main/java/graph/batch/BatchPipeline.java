@@ -0,0 +1,109 @@
+package graph.batch;
+
+import graph.Metrics;
+import graph.dagsp.PathResult;
+import graph.io.GraphLoader;
+import graph.io.MappedGraph;
+import graph.model.GraphView;
+import graph.server.GraphAnalysis;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs SCC, condensation, topological order, shortest/longest paths and the critical
+ * path over every graph file in a directory. Files are read lazily from the directory
+ * stream and at most workers * 2 are admitted at once, so the walk blocks instead of
+ * queueing and memory stays bounded by the largest graphs in flight.
+ */
+public class BatchPipeline {
+    private final int workers;
+    private final Metrics totals;
+
+    public BatchPipeline(int workers, Metrics totals) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        this.workers = workers;
+        this.totals = totals;
+    }
+
+    public long run(Path directory, ReportWriter report) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        Semaphore inFlight = new Semaphore(workers * 2);
+        AtomicReference<IOException> reportFailure = new AtomicReference<>();
+        long submitted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{json,bin}")) {
+            for (Path file : files) {
+                inFlight.acquire();
+                if (reportFailure.get() != null) {
+                    break;
+                }
+                submitted++;
+                pool.execute(() -> {
+                    try {
+                        report.write(process(file));
+                    } catch (IOException e) {
+                        reportFailure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        if (reportFailure.get() != null) {
+            throw reportFailure.get();
+        }
+        return submitted;
+    }
+
+    public BatchResult process(Path file) {
+        Metrics metrics = new Metrics().forGraph(file.getFileName().toString());
+        try {
+            GraphView graph = file.toString().endsWith(".bin")
+                    ? MappedGraph.open(file)
+                    : new GraphLoader().load(file).toCsr();
+            GraphAnalysis analysis = GraphAnalysis.analyze(file.getFileName().toString(), 0, graph, metrics);
+
+            int source = graph.getSource();
+            analysis.paths(source, false, metrics);
+            PathResult longest = analysis.paths(source, true, metrics);
+            int farthest = source;
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                if (longest.isReachable(v) && longest.distanceTo(v) > longest.distanceTo(farthest)) {
+                    farthest = v;
+                }
+            }
+            int pathNodes = longest.pathTo(farthest, metrics).size();
+
+            BatchResult result = new BatchResult(file.getFileName().toString(), graph.nodeCount(), graph.edgeCount(),
+                    analysis.getComponentCount(), analysis.getNodeOrder().length,
+                    longest.distanceTo(farthest), pathNodes, metrics);
+            merge(metrics);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            return new BatchResult(file.getFileName().toString(), e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private void merge(Metrics metrics) {
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            for (Metrics.Counter counter : Metrics.Counter.values()) {
+                totals.add(phase, counter, metrics.get(phase, counter));
+            }
+            long runs = metrics.latency(phase).getCount();
+            if (runs > 0) {
+                totals.record(phase, metrics.latency(phase).getTotal());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package graph.batch;
+
+import graph.Metrics;
+
+/**
+ * One report row: the outcome of the full pipeline on a single graph file.
+ */
+public class BatchResult {
+    public final String file;
+    public final int nodes;
+    public final int edges;
+    public final int components;
+    public final int topoLength;
+    public final long criticalPathLength;
+    public final int criticalPathNodes;
+    public final long[] phaseNanos;
+    public final long[] counters;
+    public final String error;
+
+    BatchResult(String file, int nodes, int edges, int components, int topoLength,
+                long criticalPathLength, int criticalPathNodes, Metrics metrics) {
+        this.file = file;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.components = components;
+        this.topoLength = topoLength;
+        this.criticalPathLength = criticalPathLength;
+        this.criticalPathNodes = criticalPathNodes;
+        this.phaseNanos = new long[Metrics.Phase.values().length];
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            phaseNanos[phase.ordinal()] = metrics.latency(phase).getTotal();
+        }
+        this.counters = new long[Metrics.Counter.values().length];
+        for (Metrics.Counter counter : Metrics.Counter.values()) {
+            counters[counter.ordinal()] = metrics.get(counter);
+        }
+        this.error = null;
+    }
+
+    BatchResult(String file, String error) {
+        this.file = file;
+        this.nodes = 0;
+        this.edges = 0;
+        this.components = 0;
+        this.topoLength = 0;
+        this.criticalPathLength = 0;
+        this.criticalPathNodes = 0;
+        this.phaseNanos = new long[Metrics.Phase.values().length];
+        this.counters = new long[Metrics.Counter.values().length];
+        this.error = error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,124 @@
+package graph.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.Metrics;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams BatchResult rows as CSV or JSON Lines. Rows are flushed as they arrive
+ * so a long batch can be followed with tail -f, and nothing is held in memory.
+ */
+public class ReportWriter implements Closeable {
+    public enum Format { CSV, JSONL }
+
+    private final Writer out;
+    private final Format format;
+    private final JsonFactory json = new JsonFactory();
+    private long rows;
+
+    public ReportWriter(Writer out, Format format) throws IOException {
+        this.out = out;
+        this.format = format;
+        if (format == Format.CSV) {
+            writeCsvHeader();
+        }
+    }
+
+    public static ReportWriter open(Path file) throws IOException {
+        Format format = file.toString().endsWith(".jsonl") || file.toString().endsWith(".ndjson")
+                ? Format.JSONL : Format.CSV;
+        return new ReportWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), format);
+    }
+
+    public synchronized void write(BatchResult result) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(result);
+        } else {
+            writeJson(result);
+        }
+        out.write('\n');
+        out.flush();
+        rows++;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    private void writeCsvHeader() throws IOException {
+        StringBuilder sb = new StringBuilder("file,nodes,edges,components,topo_length,critical_path_length,critical_path_nodes");
+        for (Metrics.Phase phase : Metrics.Phase.values()) {
+            sb.append(',').append(phase.label()).append("_ns");
+        }
+        for (Metrics.Counter counter : Metrics.Counter.values()) {
+            sb.append(',').append(counter.label());
+        }
+        out.write(sb.append(",error\n").toString());
+    }
+
+    private void writeCsv(BatchResult r) throws IOException {
+        StringBuilder sb = new StringBuilder(quote(r.file));
+        sb.append(',').append(r.nodes).append(',').append(r.edges).append(',').append(r.components)
+                .append(',').append(r.topoLength).append(',').append(r.criticalPathLength)
+                .append(',').append(r.criticalPathNodes);
+        for (long nanos : r.phaseNanos) {
+            sb.append(',').append(nanos);
+        }
+        for (long count : r.counters) {
+            sb.append(',').append(count);
+        }
+        sb.append(',');
+        if (r.error != null) {
+            sb.append(quote(r.error));
+        }
+        out.write(sb.toString());
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void writeJson(BatchResult r) throws IOException {
+        JsonGenerator gen = json.createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.writeStartObject();
+        gen.writeStringField("file", r.file);
+        if (r.error != null) {
+            gen.writeStringField("error", r.error);
+        } else {
+            gen.writeNumberField("nodes", r.nodes);
+            gen.writeNumberField("edges", r.edges);
+            gen.writeNumberField("components", r.components);
+            gen.writeNumberField("topo_length", r.topoLength);
+            gen.writeNumberField("critical_path_length", r.criticalPathLength);
+            gen.writeNumberField("critical_path_nodes", r.criticalPathNodes);
+            gen.writeObjectFieldStart("phase_ns");
+            for (Metrics.Phase phase : Metrics.Phase.values()) {
+                gen.writeNumberField(phase.label(), r.phaseNanos[phase.ordinal()]);
+            }
+            gen.writeEndObject();
+            gen.writeObjectFieldStart("counters");
+            for (Metrics.Counter counter : Metrics.Counter.values()) {
+                gen.writeNumberField(counter.label(), r.counters[counter.ordinal()]);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
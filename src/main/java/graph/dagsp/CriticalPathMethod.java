@@ -0,0 +1,125 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.CriticalPathEvent;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.scc.Condensation;
+import graph.scc.CondensationBuilder;
+import graph.topo.TopologicalSort;
+
+/**
+ * Critical Path Method over the SCC condensation. Tasks in one strongly connected
+ * component depend on each other and are scheduled as a single block. With edge
+ * weights an edge u -> v is a lag of w between finishing u and starting v and tasks
+ * take no time; with node weights each task has a duration and edges are plain
+ * precedences. Earliest starts come from one forward pass in topological order and
+ * latest starts from one backward pass.
+ */
+public class CriticalPathMethod {
+    public enum WeightModel {
+        EDGE, NODE;
+
+        public static WeightModel fromName(String name) {
+            return "node".equals(name) ? NODE : EDGE;
+        }
+    }
+
+    private Metrics metrics;
+
+    public CriticalPathMethod(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public CriticalPathSchedule schedule(GraphView graph, int[] componentId, int componentCount,
+                                         WeightModel model, int[] nodeDurations) {
+        int n = graph.nodeCount();
+        if (model == WeightModel.NODE && (nodeDurations == null || nodeDurations.length < n)) {
+            throw new IllegalArgumentException("Node weight model needs a duration for every task");
+        }
+
+        Condensation condensed = CondensationBuilder.build(graph, componentId, componentCount);
+        CsrGraph condensation = model == WeightModel.EDGE ? condensed.longestGraph() : condensed.unweightedGraph();
+        int[] order = new TopologicalSort(metrics).kahnTopoSort(condensation);
+        if (order.length != componentCount) {
+            throw new IllegalArgumentException("Component ids do not describe an acyclic condensation");
+        }
+
+        CriticalPathEvent event = new CriticalPathEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+
+        int[] blockDuration = new int[componentCount];
+        int[] taskDuration = new int[n];
+        if (model == WeightModel.NODE) {
+            for (int v = 0; v < n; v++) {
+                taskDuration[v] = nodeDurations[v];
+                blockDuration[componentId[v]] += nodeDurations[v];
+            }
+        }
+
+        long relaxations = 0;
+        int[] earliest = new int[componentCount];
+        int projectDuration = 0;
+        for (int c : order) {
+            int finish = earliest[c] + blockDuration[c];
+            projectDuration = Math.max(projectDuration, finish);
+            for (int e = condensation.edgeStart(c); e < condensation.edgeEnd(c); e++) {
+                int next = condensation.target(e);
+                int start = finish + condensation.weight(e);
+                if (start > earliest[next]) {
+                    earliest[next] = start;
+                }
+            }
+            relaxations += condensation.outDegree(c);
+        }
+
+        int[] latest = new int[componentCount];
+        for (int i = order.length - 1; i >= 0; i--) {
+            int c = order[i];
+            int latestFinish = projectDuration;
+            for (int e = condensation.edgeStart(c); e < condensation.edgeEnd(c); e++) {
+                int bound = latest[condensation.target(e)] - condensation.weight(e);
+                if (bound < latestFinish) {
+                    latestFinish = bound;
+                }
+            }
+            latest[c] = latestFinish - blockDuration[c];
+            relaxations += condensation.outDegree(c);
+        }
+
+        // Tasks in a block run back to back in node order inside the block's window.
+        int[] earliestStart = new int[n];
+        int[] latestStart = new int[n];
+        int[] offset = new int[componentCount];
+        for (int v = 0; v < n; v++) {
+            int c = componentId[v];
+            earliestStart[v] = earliest[c] + offset[c];
+            latestStart[v] = latest[c] + offset[c];
+            offset[c] += taskDuration[v];
+        }
+
+        metrics.add(Metrics.Phase.CPM, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.CPM, System.nanoTime() - startedAt);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.weightModel = model.name().toLowerCase();
+            event.components = componentCount;
+            event.projectDuration = projectDuration;
+            event.criticalTasks = criticalTasks(earliestStart, latestStart);
+            event.relaxations = relaxations;
+            event.commit();
+        }
+        return new CriticalPathSchedule(taskDuration, earliestStart, latestStart, projectDuration);
+    }
+
+    private static int criticalTasks(int[] earliestStart, int[] latestStart) {
+        int critical = 0;
+        for (int v = 0; v < earliestStart.length; v++) {
+            if (earliestStart[v] == latestStart[v]) {
+                critical++;
+            }
+        }
+        return critical;
+    }
+}
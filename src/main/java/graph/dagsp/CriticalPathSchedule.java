@@ -0,0 +1,82 @@
+package graph.dagsp;
+
+import java.util.Arrays;
+
+public class CriticalPathSchedule {
+    private final int[] duration;
+    private final int[] earliestStart;
+    private final int[] latestStart;
+    private final int projectDuration;
+
+    public CriticalPathSchedule(int[] duration, int[] earliestStart, int[] latestStart, int projectDuration) {
+        this.duration = duration;
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.projectDuration = projectDuration;
+    }
+
+    public int taskCount() {
+        return earliestStart.length;
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+
+    public int duration(int task) {
+        return duration[task];
+    }
+
+    public int earliestStart(int task) {
+        return earliestStart[task];
+    }
+
+    public int earliestFinish(int task) {
+        return earliestStart[task] + duration[task];
+    }
+
+    public int latestStart(int task) {
+        return latestStart[task];
+    }
+
+    public int latestFinish(int task) {
+        return latestStart[task] + duration[task];
+    }
+
+    public int totalSlack(int task) {
+        return latestStart[task] - earliestStart[task];
+    }
+
+    public boolean isCritical(int task) {
+        return latestStart[task] == earliestStart[task];
+    }
+
+    public int[] getEarliestStarts() {
+        return earliestStart;
+    }
+
+    public int[] getLatestStarts() {
+        return latestStart;
+    }
+
+    public int[] criticalTasks() {
+        int[] critical = new int[earliestStart.length];
+        int size = 0;
+        for (int task = 0; task < earliestStart.length; task++) {
+            if (latestStart[task] == earliestStart[task]) {
+                critical[size++] = task;
+            }
+        }
+        return Arrays.copyOf(critical, size);
+    }
+
+    public void printSchedule() {
+        System.out.println("CPM schedule (project duration " + projectDuration + "):");
+        for (int task = 0; task < earliestStart.length; task++) {
+            System.out.printf("  Task %d: dur=%d ES=%d EF=%d LS=%d LF=%d slack=%d%s%n",
+                    task, duration[task], earliestStart(task), earliestFinish(task),
+                    latestStart(task), latestFinish(task), totalSlack(task),
+                    isCritical(task) ? " (critical)" : "");
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package graph.dagsp;
 
 import graph.Metrics;
+import graph.jfr.PathSweepEvent;
+import graph.jfr.ReconstructEvent;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
 import java.util.*;
 
 public class DAGShortestPath {
@@ -28,6 +32,24 @@ public class DAGShortestPath {
             adjList.get(u).add(new Edge(v, weight));
         }
 
+        public CsrGraph toCsr() {
+            int[] offsets = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] = offsets[u] + adjList.get(u).size();
+            }
+            int[] targets = new int[offsets[n]];
+            int[] weights = new int[offsets[n]];
+            int e = 0;
+            for (int u = 0; u < n; u++) {
+                for (Edge edge : adjList.get(u)) {
+                    targets[e] = edge.v;
+                    weights[e] = edge.weight;
+                    e++;
+                }
+            }
+            return new CsrGraph(n, source, offsets, targets, weights);
+        }
+
         public void printGraph() {
             System.out.println("Graph (n=" + n + ", source=" + source + "):");
             for (int i = 0; i < n; i++) {
@@ -52,7 +74,10 @@ public class DAGShortestPath {
     }
 
     public int[] shortestPath(Graph graph, List<Integer> topoOrder) {
-        metrics.startTimer();
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long relaxations = 0;
 
         int[] dist = new int[graph.n];
         Arrays.fill(dist, Integer.MAX_VALUE);
@@ -61,7 +86,7 @@ public class DAGShortestPath {
         for (int u : topoOrder) {
             if (dist[u] != Integer.MAX_VALUE) {
                 for (Edge edge : graph.adjList.get(u)) {
-                    metrics.relaxations++;
+                    relaxations++;
                     int newDist = dist[u] + edge.weight;
                     if (newDist < dist[edge.v]) {
                         dist[edge.v] = newDist;
@@ -70,12 +95,21 @@ public class DAGShortestPath {
             }
         }
 
-        metrics.stopTimer();
+        metrics.add(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.SP, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), graph.n, graph.adjList.stream().mapToLong(List::size).sum());
+            event.sweep("single", false, graph.source, 1, relaxations);
+            event.commit();
+        }
         return dist;
     }
 
     public int[] longestPath(Graph graph, List<Integer> topoOrder) {
-        metrics.startTimer();
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long relaxations = 0;
 
         int[] dist = new int[graph.n];
         Arrays.fill(dist, Integer.MIN_VALUE);
@@ -84,7 +118,7 @@ public class DAGShortestPath {
         for (int u : topoOrder) {
             if (dist[u] != Integer.MIN_VALUE) {
                 for (Edge edge : graph.adjList.get(u)) {
-                    metrics.relaxations++;
+                    relaxations++;
                     int newDist = dist[u] + edge.weight;
                     if (newDist > dist[edge.v]) {
                         dist[edge.v] = newDist;
@@ -93,10 +127,164 @@ public class DAGShortestPath {
             }
         }
 
-        metrics.stopTimer();
+        metrics.add(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.LP, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), graph.n, graph.adjList.stream().mapToLong(List::size).sum());
+            event.sweep("single", true, graph.source, 1, relaxations);
+            event.commit();
+        }
+        return dist;
+    }
+
+    public int[] shortestPath(GraphView graph, int[] topoOrder) {
+        return shortestPath(graph, topoOrder, null);
+    }
+
+    public PathResult shortestPathTree(GraphView graph, int[] topoOrder) {
+        int[] predecessor = new int[graph.nodeCount()];
+        Arrays.fill(predecessor, -1);
+        int[] dist = shortestPath(graph, topoOrder, predecessor);
+        return new PathResult(dist, predecessor, graph.getSource(), Integer.MAX_VALUE);
+    }
+
+    public int[] shortestPath(GraphView graph, int[] topoOrder, int[] predecessor) {
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int[] dist = new int[graph.nodeCount()];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[graph.getSource()] = 0;
+
+        GraphView.EdgeCursor edges = graph.edges();
+        long relaxations = 0;
+        for (int u : topoOrder) {
+            int du = dist[u];
+            if (du != Integer.MAX_VALUE) {
+                relaxations += graph.outDegree(u);
+                edges.reset(u);
+                while (edges.next()) {
+                    int v = edges.target();
+                    int newDist = du + edges.weight();
+                    if (newDist < dist[v]) {
+                        dist[v] = newDist;
+                        if (predecessor != null) {
+                            predecessor[v] = u;
+                        }
+                    }
+                }
+            }
+        }
+
+        metrics.add(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.SP, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), graph.nodeCount(), graph.edgeCount());
+            event.sweep("single", false, graph.getSource(), 1, relaxations);
+            event.commit();
+        }
         return dist;
     }
 
+    public int[] longestPath(GraphView graph, int[] topoOrder) {
+        return longestPath(graph, topoOrder, null);
+    }
+
+    public PathResult longestPathTree(GraphView graph, int[] topoOrder) {
+        int[] predecessor = new int[graph.nodeCount()];
+        Arrays.fill(predecessor, -1);
+        int[] dist = longestPath(graph, topoOrder, predecessor);
+        return new PathResult(dist, predecessor, graph.getSource(), Integer.MIN_VALUE);
+    }
+
+    public int[] longestPath(GraphView graph, int[] topoOrder, int[] predecessor) {
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int[] dist = new int[graph.nodeCount()];
+        Arrays.fill(dist, Integer.MIN_VALUE);
+        dist[graph.getSource()] = 0;
+
+        GraphView.EdgeCursor edges = graph.edges();
+        long relaxations = 0;
+        for (int u : topoOrder) {
+            int du = dist[u];
+            if (du != Integer.MIN_VALUE) {
+                relaxations += graph.outDegree(u);
+                edges.reset(u);
+                while (edges.next()) {
+                    int v = edges.target();
+                    int newDist = du + edges.weight();
+                    if (newDist > dist[v]) {
+                        dist[v] = newDist;
+                        if (predecessor != null) {
+                            predecessor[v] = u;
+                        }
+                    }
+                }
+            }
+        }
+
+        metrics.add(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.LP, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), graph.nodeCount(), graph.edgeCount());
+            event.sweep("single", true, graph.getSource(), 1, relaxations);
+            event.commit();
+        }
+        return dist;
+    }
+
+    public List<Integer> reconstructPath(int[] dist, GraphView graph, int target, int[] topoOrder) {
+        if (dist[target] == Integer.MAX_VALUE || dist[target] == Integer.MIN_VALUE) {
+            return new ArrayList<>();
+        }
+
+        ReconstructEvent event = new ReconstructEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int[] position = new int[graph.nodeCount()];
+        Arrays.fill(position, Integer.MAX_VALUE);
+        for (int i = 0; i < topoOrder.length; i++) {
+            position[topoOrder[i]] = i;
+        }
+
+        List<Integer> path = new ArrayList<>();
+        path.add(target);
+        int current = target;
+
+        while (current != graph.getSource()) {
+            int previous = -1;
+            for (int i = 0; i < position[current] && previous == -1; i++) {
+                int u = topoOrder[i];
+                if (dist[u] == Integer.MAX_VALUE || dist[u] == Integer.MIN_VALUE) {
+                    continue;
+                }
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    if (graph.target(e) == current && dist[u] + graph.weight(e) == dist[current]) {
+                        previous = u;
+                        break;
+                    }
+                }
+            }
+            if (previous == -1) break;
+            path.add(previous);
+            current = previous;
+        }
+
+        Collections.reverse(path);
+        metrics.record(Metrics.Phase.RECONSTRUCT, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), graph.nodeCount(), graph.edgeCount());
+            event.target = target;
+            event.pathLength = path.size();
+            event.commit();
+        }
+        return path;
+    }
+
     public List<Integer> reconstructPath(int[] dist, Graph graph, int target, List<Integer> topoOrder) {
         if (dist[target] == Integer.MAX_VALUE || dist[target] == Integer.MIN_VALUE) {
             return new ArrayList<>();
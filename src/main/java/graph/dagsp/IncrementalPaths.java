@@ -0,0 +1,264 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.PathSweepEvent;
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * Shortest or longest distances over a DAG that are repaired after edge weight
+ * changes instead of recomputed. Updated edges mark their heads dirty; dirty nodes
+ * are popped from a min-heap keyed by topological position and recomputed from their
+ * in-edges, and only nodes whose distance actually changed dirty their successors.
+ * Every node is therefore recomputed at most once per batch, and untouched parts of
+ * the graph are never read.
+ */
+public class IncrementalPaths {
+    private final Metrics metrics;
+    private final boolean longest;
+    private final int unreachable;
+    private final int n;
+    private final int source;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] inEdges;
+    private final int[] order;
+    private final int[] position;
+    private final int[] dist;
+    private final int[] predecessor;
+    private final boolean[] queued;
+    private final int[] heap;
+    private int heapSize;
+    private int lastTouched;
+    private long totalTouched;
+
+    public IncrementalPaths(GraphView graph, int[] topoOrder, boolean longest, Metrics metrics) {
+        this.metrics = metrics;
+        this.longest = longest;
+        this.unreachable = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        this.n = graph.nodeCount();
+        this.source = graph.getSource();
+        if (topoOrder.length != n) {
+            throw new IllegalArgumentException("Topological order must list all " + n + " nodes");
+        }
+
+        this.order = topoOrder.clone();
+        this.position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        int m = graph.edgeCount();
+        this.offsets = new int[n + 1];
+        this.targets = new int[m];
+        this.weights = new int[m];
+        this.inOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.outDegree(u);
+            for (int e = graph.edgeStart(u), slot = offsets[u]; e < graph.edgeEnd(u); e++, slot++) {
+                int v = graph.target(e);
+                if (position[u] >= position[v]) {
+                    throw new IllegalArgumentException("Edge " + u + " -> " + v + " goes against the topological order");
+                }
+                targets[slot] = v;
+                weights[slot] = graph.weight(e);
+                inOffsets[v + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inSources = new int[m];
+        this.inEdges = new int[m];
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int slot = cursor[targets[e]]++;
+                inSources[slot] = u;
+                inEdges[slot] = e;
+            }
+        }
+
+        this.dist = new int[n];
+        this.predecessor = new int[n];
+        this.queued = new boolean[n];
+        this.heap = new int[n];
+        fullSweep();
+    }
+
+    public int fullSweep() {
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Arrays.fill(dist, unreachable);
+        Arrays.fill(predecessor, -1);
+        dist[source] = 0;
+
+        long relaxations = 0;
+        for (int u : order) {
+            int du = dist[u];
+            if (du == unreachable) {
+                continue;
+            }
+            relaxations += offsets[u + 1] - offsets[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                int candidate = du + weights[e];
+                if (longest ? candidate > dist[v] : candidate < dist[v]) {
+                    dist[v] = candidate;
+                    predecessor[v] = u;
+                }
+            }
+        }
+
+        lastTouched = n;
+        totalTouched += n;
+        record(event, "full", relaxations, start);
+        return n;
+    }
+
+    public void setWeight(int edge, int weight) {
+        if (weights[edge] != weight) {
+            weights[edge] = weight;
+            push(targets[edge]);
+        }
+    }
+
+    public int updateWeight(int u, int v, int weight) {
+        int updated = 0;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if (targets[e] == v) {
+                setWeight(e, weight);
+                updated++;
+            }
+        }
+        if (updated == 0) {
+            throw new IllegalArgumentException("No edge " + u + " -> " + v);
+        }
+        return updated;
+    }
+
+    /**
+     * Repairs the distances after the pending weight updates and returns how many
+     * nodes were recomputed.
+     */
+    public int apply() {
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long relaxations = 0;
+        int touched = 0;
+
+        while (heapSize > 0) {
+            int v = order[pop()];
+            queued[v] = false;
+            touched++;
+
+            int best = unreachable;
+            int bestPredecessor = -1;
+            if (v == source) {
+                best = 0;
+            } else {
+                relaxations += inOffsets[v + 1] - inOffsets[v];
+                for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                    int du = dist[inSources[i]];
+                    if (du == unreachable) {
+                        continue;
+                    }
+                    int candidate = du + weights[inEdges[i]];
+                    if (best == unreachable || (longest ? candidate > best : candidate < best)) {
+                        best = candidate;
+                        bestPredecessor = inSources[i];
+                    }
+                }
+            }
+
+            predecessor[v] = bestPredecessor;
+            if (best != dist[v]) {
+                dist[v] = best;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    push(targets[e]);
+                }
+            }
+        }
+
+        lastTouched = touched;
+        totalTouched += touched;
+        record(event, "incremental", relaxations, start);
+        return touched;
+    }
+
+    private void record(PathSweepEvent event, String algorithm, long relaxations, long start) {
+        Metrics.Phase phase = longest ? Metrics.Phase.LP : Metrics.Phase.SP;
+        metrics.add(phase, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(phase, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, targets.length);
+            event.sweep(algorithm, longest, source, 1, relaxations);
+            event.commit();
+        }
+    }
+
+    private void push(int v) {
+        if (queued[v]) {
+            return;
+        }
+        queued[v] = true;
+        int i = heapSize++;
+        int key = position[v];
+        while (i > 0 && heap[(i - 1) >>> 1] > key) {
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        heap[i] = key;
+    }
+
+    private int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    public int[] getDistances() {
+        return dist;
+    }
+
+    public int[] getPredecessors() {
+        return predecessor;
+    }
+
+    public PathResult toPathResult() {
+        return new PathResult(dist.clone(), predecessor.clone(), source, unreachable);
+    }
+
+    public int getLastTouched() {
+        return lastTouched;
+    }
+
+    public long getTotalTouched() {
+        return totalTouched;
+    }
+
+    public int getPendingCount() {
+        return heapSize;
+    }
+}
@@ -0,0 +1,136 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.PathSweepEvent;
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * K longest or K shortest paths from the source, by the same topological sweep as
+ * DAGShortestPath but keeping up to K labels per node instead of one. A label is a
+ * distance plus the predecessor node and the rank of the predecessor's label it
+ * extends. Labels live in flat arrays with K slots per node, sorted best first, so
+ * a relaxation is an insertion into a bounded sorted run and costs O(1) when the
+ * candidate cannot make the cut. The sweep does O(K·(V+E)) relaxations. Parallel
+ * edges count as distinct paths. The K best complete chains, from the source to any
+ * sink, are then picked from the sinks' runs with the same bounded insertion. A source
+ * without out-edges is a sink itself, and its only chain is the empty one.
+ */
+public class KBestPaths {
+    private Metrics metrics;
+
+    public KBestPaths(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public KPathResult longest(GraphView dag, int[] topoOrder, int k) {
+        return sweep(dag, topoOrder, k, true);
+    }
+
+    public KPathResult shortest(GraphView dag, int[] topoOrder, int k) {
+        return sweep(dag, topoOrder, k, false);
+    }
+
+    private KPathResult sweep(GraphView dag, int[] topoOrder, int k, boolean longest) {
+        int n = dag.nodeCount();
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        if (topoOrder.length != n) {
+            throw new IllegalArgumentException("Topological order covers " + topoOrder.length + " of " + n
+                    + " nodes; enumerate paths on the condensation of a cyclic graph");
+        }
+        if ((long) n * k > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("k=" + k + " labels for " + n + " nodes do not fit in one array");
+        }
+        Metrics.Phase phase = longest ? Metrics.Phase.LP : Metrics.Phase.SP;
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int[] count = new int[n];
+        int[] dist = new int[n * k];
+        int[] prevNode = new int[n * k];
+        int[] prevRank = new int[n * k];
+        int source = dag.getSource();
+        count[source] = 1;
+        prevNode[source * k] = -1;
+        prevRank[source * k] = -1;
+
+        GraphView.EdgeCursor edges = dag.edges();
+        long relaxations = 0;
+        for (int u : topoOrder) {
+            int labels = count[u];
+            if (labels == 0) {
+                continue;
+            }
+            relaxations += (long) labels * dag.outDegree(u);
+            edges.reset(u);
+            while (edges.next()) {
+                int v = edges.target();
+                int w = edges.weight();
+                for (int r = 0; r < labels; r++) {
+                    // Labels of u are sorted best first, so once one misses v's cut the rest do too.
+                    if (!insert(dist, prevNode, prevRank, count, v, k, dist[u * k + r] + w, u, r, longest)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int[] topDist = new int[k];
+        int[] topNode = new int[k];
+        int[] topRank = new int[k];
+        int[] topCount = new int[1];
+        for (int v = 0; v < n; v++) {
+            if (dag.outDegree(v) > 0) {
+                continue;
+            }
+            for (int r = 0; r < count[v]; r++) {
+                if (!insert(topDist, topNode, topRank, topCount, 0, k, dist[v * k + r], v, r, longest)) {
+                    break;
+                }
+            }
+        }
+
+        metrics.add(phase, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(phase, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, dag.edgeCount());
+            event.sweep("k-best", longest, source, k, relaxations);
+            event.commit();
+        }
+        return new KPathResult(k, source, longest, count, dist, prevNode, prevRank, topNode, topRank, topCount[0]);
+    }
+
+    /**
+     * Inserts a label into v's sorted run, after any equal distances, dropping the
+     * worst label if the run is full. Returns false if the label did not make the cut.
+     */
+    private static boolean insert(int[] dist, int[] prevNode, int[] prevRank, int[] count, int v, int k,
+                                  int d, int node, int rank, boolean longest) {
+        int base = v * k;
+        int size = count[v];
+        if (size == k && !better(d, dist[base + k - 1], longest)) {
+            return false;
+        }
+        int i = Math.min(size, k - 1);
+        while (i > 0 && better(d, dist[base + i - 1], longest)) {
+            dist[base + i] = dist[base + i - 1];
+            prevNode[base + i] = prevNode[base + i - 1];
+            prevRank[base + i] = prevRank[base + i - 1];
+            i--;
+        }
+        dist[base + i] = d;
+        prevNode[base + i] = node;
+        prevRank[base + i] = rank;
+        if (size < k) {
+            count[v] = size + 1;
+        }
+        return true;
+    }
+
+    private static boolean better(int a, int b, boolean longest) {
+        return longest ? a > b : a < b;
+    }
+}
@@ -0,0 +1,117 @@
+package graph.dagsp;
+
+import java.util.*;
+
+/**
+ * Up to K best path labels per node from one source, best first. Label r of node v
+ * points at the label of its predecessor, so any of the K paths is rebuilt in
+ * O(path length). The overall ranking holds the K best complete chains, those
+ * ending at a sink, as (end node, rank) pairs.
+ */
+public class KPathResult {
+    private final int k;
+    private final int source;
+    private final boolean longest;
+    private final int[] count;
+    private final int[] dist;
+    private final int[] prevNode;
+    private final int[] prevRank;
+    private final int[] topNode;
+    private final int[] topRank;
+    private final int topCount;
+
+    public KPathResult(int k, int source, boolean longest, int[] count, int[] dist, int[] prevNode, int[] prevRank,
+                       int[] topNode, int[] topRank, int topCount) {
+        this.k = k;
+        this.source = source;
+        this.longest = longest;
+        this.count = count;
+        this.dist = dist;
+        this.prevNode = prevNode;
+        this.prevRank = prevRank;
+        this.topNode = topNode;
+        this.topRank = topRank;
+        this.topCount = topCount;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean isLongest() {
+        return longest;
+    }
+
+    public int labelCount(int node) {
+        return count[node];
+    }
+
+    public int distanceTo(int node, int rank) {
+        checkRank(node, rank);
+        return dist[node * k + rank];
+    }
+
+    public int[] distancesTo(int node) {
+        return Arrays.copyOfRange(dist, node * k, node * k + count[node]);
+    }
+
+    public List<Integer> pathTo(int node, int rank) {
+        checkRank(node, rank);
+        List<Integer> path = new ArrayList<>();
+        int v = node;
+        int r = rank;
+        while (v != -1) {
+            path.add(v);
+            int label = v * k + r;
+            v = prevNode[label];
+            r = prevRank[label];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Number of chains in the overall ranking: K, or fewer if fewer reach a sink. At
+     * least one, since a source without out-edges ranks its own empty chain.
+     */
+    public int topCount() {
+        return topCount;
+    }
+
+    public int topDistance(int i) {
+        return distanceTo(topNode[i], topRank[i]);
+    }
+
+    public List<Integer> topPath(int i) {
+        if (i < 0 || i >= topCount) {
+            throw new IndexOutOfBoundsException("Path " + i + " of " + topCount);
+        }
+        return pathTo(topNode[i], topRank[i]);
+    }
+
+    public List<List<Integer>> topPaths() {
+        List<List<Integer>> paths = new ArrayList<>();
+        for (int i = 0; i < topCount; i++) {
+            paths.add(topPath(i));
+        }
+        return paths;
+    }
+
+    public int[] topDistances() {
+        int[] distances = new int[topCount];
+        for (int i = 0; i < topCount; i++) {
+            distances[i] = topDistance(i);
+        }
+        return distances;
+    }
+
+    private void checkRank(int node, int rank) {
+        if (rank < 0 || rank >= count[node]) {
+            throw new IndexOutOfBoundsException("Node " + node + " has " + count[node] + " paths, not rank " + rank);
+        }
+    }
+}
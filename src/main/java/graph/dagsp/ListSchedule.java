@@ -0,0 +1,95 @@
+package graph.dagsp;
+
+import java.util.Arrays;
+
+public class ListSchedule {
+    private final int[] start;
+    private final int[] finish;
+    private final int[] worker;
+    private final long[] priority;
+    private final int workers;
+    private final int makespan;
+
+    public ListSchedule(int[] start, int[] finish, int[] worker, long[] priority, int workers, int makespan) {
+        this.start = start;
+        this.finish = finish;
+        this.worker = worker;
+        this.priority = priority;
+        this.workers = workers;
+        this.makespan = makespan;
+    }
+
+    public int taskCount() {
+        return start.length;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getMakespan() {
+        return makespan;
+    }
+
+    public int start(int task) {
+        return start[task];
+    }
+
+    public int finish(int task) {
+        return finish[task];
+    }
+
+    public int worker(int task) {
+        return worker[task];
+    }
+
+    public long priority(int task) {
+        return priority[task];
+    }
+
+    public int[] getStarts() {
+        return start;
+    }
+
+    public int[] getFinishes() {
+        return finish;
+    }
+
+    public int[] getWorkerAssignment() {
+        return worker;
+    }
+
+    /** Longest chain of durations; no crew, however large, can finish sooner. */
+    public long criticalPathBound() {
+        long bound = 0;
+        for (long p : priority) {
+            bound = Math.max(bound, p);
+        }
+        return bound;
+    }
+
+    public double utilization() {
+        if (makespan == 0) {
+            return 0.0;
+        }
+        long busy = 0;
+        for (int task = 0; task < start.length; task++) {
+            busy += finish[task] - start[task];
+        }
+        return (double) busy / ((long) makespan * workers);
+    }
+
+    public void printSchedule() {
+        System.out.printf("List schedule on %d workers (makespan %d, utilization %.1f%%):%n",
+                workers, makespan, 100 * utilization());
+        Integer[] byStart = new Integer[start.length];
+        for (int task = 0; task < byStart.length; task++) {
+            byStart[task] = task;
+        }
+        Arrays.sort(byStart, (a, b) -> start[a] != start[b] ? Integer.compare(start[a], start[b]) : Integer.compare(a, b));
+        for (int task : byStart) {
+            System.out.printf("  Task %d: worker=%d start=%d finish=%d priority=%d%n",
+                    task, worker[task], start[task], finish[task], priority[task]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.ScheduleEvent;
+import graph.model.GraphView;
+import graph.model.IndexHeap;
+import java.util.*;
+
+/**
+ * List scheduling of a precedence DAG on a fixed number of identical workers. A task's
+ * priority is its bottom level: its duration plus the longest chain of durations
+ * after it, found in one reverse pass over the topological order. The simulation
+ * then jumps from one finish time to the next. At each event the finished tasks
+ * release their workers and successors, and the free workers take the ready tasks
+ * with the highest priority. Ready tasks sit in an IndexHeap over the priority array
+ * and busy workers in another over their finish times, so no object is created per
+ * task and each task costs O(log n) heap work plus its out-edges. Edge weights are
+ * ignored; only precedence and durations matter.
+ */
+public class ListScheduler {
+    private Metrics metrics;
+
+    public ListScheduler(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ListSchedule schedule(GraphView dag, int[] topoOrder, int[] durations, int workers) {
+        int n = dag.nodeCount();
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        if (topoOrder.length != n) {
+            throw new IllegalArgumentException("Topological order covers " + topoOrder.length + " of " + n
+                    + " tasks; schedule the condensation of a cyclic graph");
+        }
+        if (durations.length < n) {
+            throw new IllegalArgumentException("Every task needs a duration");
+        }
+
+        ScheduleEvent event = new ScheduleEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+
+        long[] priority = new long[n];
+        int[] inDegree = new int[n];
+        long relaxations = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoOrder[i];
+            if (durations[u] < 0) {
+                throw new IllegalArgumentException("Task " + u + " has negative duration " + durations[u]);
+            }
+            long tail = 0;
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                int v = dag.target(e);
+                tail = Math.max(tail, priority[v]);
+                inDegree[v]++;
+            }
+            relaxations += dag.outDegree(u);
+            priority[u] = durations[u] + tail;
+        }
+
+        int[] start = new int[n];
+        int[] finish = new int[n];
+        int[] worker = new int[n];
+        IndexHeap ready = new IndexHeap(n, priority, true);
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                ready.add(v);
+            }
+        }
+
+        long[] freeAt = new long[workers];
+        int[] running = new int[workers];
+        IndexHeap busy = new IndexHeap(workers, freeAt, false);
+        int[] idle = new int[workers];
+        int idleCount = workers;
+        for (int w = 0; w < workers; w++) {
+            idle[w] = workers - 1 - w;
+        }
+
+        int time = 0;
+        int done = 0;
+        while (done < n) {
+            while (idleCount > 0 && !ready.isEmpty()) {
+                int task = ready.poll();
+                int w = idle[--idleCount];
+                start[task] = time;
+                finish[task] = Math.addExact(time, durations[task]);
+                worker[task] = w;
+                running[w] = task;
+                freeAt[w] = finish[task];
+                busy.add(w);
+            }
+            if (busy.isEmpty()) {
+                throw new IllegalArgumentException("Tasks left without ready predecessors; the graph is not a DAG");
+            }
+
+            time = (int) freeAt[busy.peek()];
+            while (!busy.isEmpty() && freeAt[busy.peek()] == time) {
+                int w = busy.poll();
+                int task = running[w];
+                idle[idleCount++] = w;
+                done++;
+                for (int e = dag.edgeStart(task); e < dag.edgeEnd(task); e++) {
+                    int v = dag.target(e);
+                    if (--inDegree[v] == 0) {
+                        ready.add(v);
+                    }
+                }
+                relaxations += dag.outDegree(task);
+            }
+        }
+
+        metrics.add(Metrics.Phase.SCHEDULE, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(Metrics.Phase.SCHEDULE, System.nanoTime() - startedAt);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, dag.edgeCount());
+            event.workers = workers;
+            event.makespan = time;
+            event.relaxations = relaxations;
+            event.commit();
+        }
+        return new ListSchedule(start, finish, worker, priority, workers, time);
+    }
+}
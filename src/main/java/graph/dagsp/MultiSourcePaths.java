@@ -0,0 +1,161 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.PathSweepEvent;
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * Shortest or longest paths from many sources in one topological sweep per tile.
+ * Distances of a tile are interleaved (dist[v * width + k] is source k at node v),
+ * so each edge is read once per tile and the inner loop runs over contiguous slots.
+ * Memory is n * tileSize ints regardless of how many sources are requested.
+ */
+public class MultiSourcePaths {
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private Metrics metrics;
+    private int tileSize;
+
+    public interface TileConsumer {
+        void accept(int firstSource, int width, int[] interleavedDist);
+    }
+
+    public MultiSourcePaths(Metrics metrics) {
+        this(metrics, DEFAULT_TILE_SIZE);
+    }
+
+    public MultiSourcePaths(Metrics metrics, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("tileSize must be at least 1");
+        }
+        this.metrics = metrics;
+        this.tileSize = tileSize;
+    }
+
+    public static int tileSizeForBudget(int n, long budgetBytes) {
+        long perSource = 4L * Math.max(n, 1);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE / Math.max(n, 1), budgetBytes / perSource));
+    }
+
+    public int[][] shortestPaths(GraphView graph, int[] topoOrder, int[] sources) {
+        return collect(graph, topoOrder, sources, false);
+    }
+
+    public int[][] longestPaths(GraphView graph, int[] topoOrder, int[] sources) {
+        return collect(graph, topoOrder, sources, true);
+    }
+
+    private int[][] collect(GraphView graph, int[] topoOrder, int[] sources, boolean longest) {
+        int n = graph.nodeCount();
+        int[][] result = new int[sources.length][n];
+        forEachTile(graph, topoOrder, sources, longest, (first, width, dist) -> {
+            for (int k = 0; k < width; k++) {
+                int[] row = result[first + k];
+                for (int v = 0; v < n; v++) {
+                    row[v] = dist[v * width + k];
+                }
+            }
+        });
+        return result;
+    }
+
+    public void forEachTile(GraphView graph, int[] topoOrder, int[] sources, boolean longest, TileConsumer consumer) {
+        PathSweepEvent event = new PathSweepEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int n = graph.nodeCount();
+        int unreachable = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long slots = (long) n * Math.min(tileSize, Math.max(sources.length, 1));
+        if (slots > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Tile of " + tileSize + " sources over " + n + " nodes exceeds one array");
+        }
+        int[] dist = new int[(int) slots];
+        long relaxations = 0;
+
+        for (int first = 0; first < sources.length; first += tileSize) {
+            int width = Math.min(tileSize, sources.length - first);
+            Arrays.fill(dist, 0, n * width, unreachable);
+            for (int k = 0; k < width; k++) {
+                dist[sources[first + k] * width + k] = 0;
+            }
+
+            if (longest) {
+                relaxations += sweepLongest(graph, topoOrder, dist, width);
+            } else {
+                relaxations += sweepShortest(graph, topoOrder, dist, width);
+            }
+            consumer.accept(first, width, dist);
+        }
+
+        Metrics.Phase phase = longest ? Metrics.Phase.LP : Metrics.Phase.SP;
+        metrics.add(phase, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(phase, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.sweep("multi-source", longest, sources.length > 0 ? sources[0] : -1, sources.length, relaxations);
+            event.commit();
+        }
+    }
+
+    private static long sweepShortest(GraphView graph, int[] topoOrder, int[] dist, int width) {
+        long relaxations = 0;
+        for (int u : topoOrder) {
+            int base = u * width;
+            int live = 0;
+            for (int k = 0; k < width; k++) {
+                if (dist[base + k] != Integer.MAX_VALUE) {
+                    live++;
+                }
+            }
+            if (live == 0) {
+                continue;
+            }
+
+            int end = graph.edgeEnd(u);
+            relaxations += (long) live * (end - graph.edgeStart(u));
+            for (int e = graph.edgeStart(u); e < end; e++) {
+                int vBase = graph.target(e) * width;
+                int w = graph.weight(e);
+                for (int k = 0; k < width; k++) {
+                    int du = dist[base + k];
+                    if (du != Integer.MAX_VALUE && du + w < dist[vBase + k]) {
+                        dist[vBase + k] = du + w;
+                    }
+                }
+            }
+        }
+        return relaxations;
+    }
+
+    private static long sweepLongest(GraphView graph, int[] topoOrder, int[] dist, int width) {
+        long relaxations = 0;
+        for (int u : topoOrder) {
+            int base = u * width;
+            int live = 0;
+            for (int k = 0; k < width; k++) {
+                if (dist[base + k] != Integer.MIN_VALUE) {
+                    live++;
+                }
+            }
+            if (live == 0) {
+                continue;
+            }
+
+            int end = graph.edgeEnd(u);
+            relaxations += (long) live * (end - graph.edgeStart(u));
+            for (int e = graph.edgeStart(u); e < end; e++) {
+                int vBase = graph.target(e) * width;
+                int w = graph.weight(e);
+                for (int k = 0; k < width; k++) {
+                    int du = dist[base + k];
+                    if (du != Integer.MIN_VALUE && du + w > dist[vBase + k]) {
+                        dist[vBase + k] = du + w;
+                    }
+                }
+            }
+        }
+        return relaxations;
+    }
+}
@@ -0,0 +1,121 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.jfr.ReconstructEvent;
+import java.util.*;
+
+/**
+ * Distances from one source together with the predecessor recorded at each winning
+ * relaxation. Any path is rebuilt by walking predecessors, in O(path length).
+ */
+public class PathResult {
+    private final int[] dist;
+    private final int[] predecessor;
+    private final int source;
+    private final int unreachable;
+
+    public PathResult(int[] dist, int[] predecessor, int source, int unreachable) {
+        this.dist = dist;
+        this.predecessor = predecessor;
+        this.source = source;
+        this.unreachable = unreachable;
+    }
+
+    public int[] getDistances() {
+        return dist;
+    }
+
+    public int[] getPredecessors() {
+        return predecessor;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean isReachable(int target) {
+        return dist[target] != unreachable;
+    }
+
+    public int distanceTo(int target) {
+        return dist[target];
+    }
+
+    public List<Integer> pathTo(int target) {
+        if (!isReachable(target)) {
+            return new ArrayList<>();
+        }
+        int length = 1;
+        for (int v = target; v != source; v = predecessor[v]) {
+            if (++length > dist.length) {
+                throw new IllegalStateException("Predecessors form a cycle: the sweep did not run on a DAG order");
+            }
+        }
+        Integer[] path = new Integer[length];
+        int v = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = v;
+            v = predecessor[v];
+        }
+        return Arrays.asList(path);
+    }
+
+    public List<Integer> pathTo(int target, Metrics metrics) {
+        ReconstructEvent event = new ReconstructEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Integer> path = pathTo(target);
+        metrics.record(Metrics.Phase.RECONSTRUCT, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), dist.length, 0);
+            event.target = target;
+            event.pathLength = path.size();
+            event.commit();
+        }
+        return path;
+    }
+
+    // One DFS over the predecessor tree; each reachable node copies its parent's prefix once.
+    public List<List<Integer>> allPaths() {
+        int n = dist.length;
+        List<List<Integer>> paths = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            paths.add(new ArrayList<>());
+        }
+
+        int[] childStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            if (v != source && isReachable(v)) {
+                childStart[predecessor[v] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            childStart[v + 1] += childStart[v];
+        }
+        int[] cursor = Arrays.copyOf(childStart, n);
+        int[] children = new int[childStart[n]];
+        for (int v = 0; v < n; v++) {
+            if (v != source && isReachable(v)) {
+                children[cursor[predecessor[v]]++] = v;
+            }
+        }
+
+        int[] stack = new int[n];
+        int top = 0;
+        stack[top++] = source;
+        paths.get(source).add(source);
+        while (top > 0) {
+            int u = stack[--top];
+            List<Integer> prefix = paths.get(u);
+            for (int i = childStart[u]; i < childStart[u + 1]; i++) {
+                int child = children[i];
+                List<Integer> path = new ArrayList<>(prefix.size() + 1);
+                path.addAll(prefix);
+                path.add(child);
+                paths.set(child, path);
+                stack[top++] = child;
+            }
+        }
+        return paths;
+    }
+}
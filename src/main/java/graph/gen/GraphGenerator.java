@@ -0,0 +1,192 @@
+package graph.gen;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.io.BinaryGraphWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic task graphs in the src/data schema. Every family emits its edges
+ * grouped by source node in increasing order while holding only O(1) state, so any
+ * size can be streamed straight to a JSON or binary file.
+ */
+public class GraphGenerator {
+    public enum Family {
+        RANDOM_DAG, LAYERED_DAG, CHAIN, PLANTED_SCC, POWER_LAW
+    }
+
+    public interface EdgeSink {
+        void edge(int u, int v, int w) throws IOException;
+    }
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final Family family;
+    private final int n;
+    private final long seed;
+    private double averageDegree = 4.0;
+    private int maxWeight = 9;
+    private int layers = 16;
+    private int sccSize = 8;
+    private double powerLawExponent = 2.1;
+
+    public GraphGenerator(Family family, int n, long seed) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        this.family = family;
+        this.n = n;
+        this.seed = seed;
+    }
+
+    public GraphGenerator averageDegree(double averageDegree) {
+        this.averageDegree = averageDegree;
+        return this;
+    }
+
+    public GraphGenerator maxWeight(int maxWeight) {
+        this.maxWeight = Math.max(1, maxWeight);
+        return this;
+    }
+
+    public GraphGenerator layers(int layers) {
+        this.layers = Math.max(1, Math.min(layers, n));
+        return this;
+    }
+
+    public GraphGenerator sccSize(int sccSize) {
+        this.sccSize = Math.max(1, sccSize);
+        return this;
+    }
+
+    public GraphGenerator powerLawExponent(double exponent) {
+        if (exponent <= 1.0) {
+            throw new IllegalArgumentException("power-law exponent must be greater than 1");
+        }
+        this.powerLawExponent = exponent;
+        return this;
+    }
+
+    public int getNodeCount() {
+        return n;
+    }
+
+    public long generate(EdgeSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long edges = 0;
+        int layerSize = (n + layers - 1) / layers;
+
+        for (int u = 0; u < n; u++) {
+            switch (family) {
+                case CHAIN:
+                    if (u + 1 < n) {
+                        sink.edge(u, u + 1, weight(random));
+                        edges++;
+                    }
+                    break;
+
+                case RANDOM_DAG: {
+                    // Targets only after u, so the result is acyclic with 0 as a natural source.
+                    int degree = u + 1 < n ? degree(random, averageDegree) : 0;
+                    for (int i = 0; i < degree; i++) {
+                        sink.edge(u, u + 1 + random.nextInt(n - u - 1), weight(random));
+                    }
+                    edges += degree;
+                    break;
+                }
+
+                case LAYERED_DAG: {
+                    int nextLayerStart = (u / layerSize + 1) * layerSize;
+                    if (nextLayerStart < n) {
+                        int nextLayerSize = Math.min(layerSize, n - nextLayerStart);
+                        int degree = degree(random, averageDegree);
+                        for (int i = 0; i < degree; i++) {
+                            sink.edge(u, nextLayerStart + random.nextInt(nextLayerSize), weight(random));
+                        }
+                        edges += degree;
+                    }
+                    break;
+                }
+
+                case PLANTED_SCC: {
+                    // Each block of sccSize nodes is a ring; extra edges only point to later blocks.
+                    int blockStart = u - u % sccSize;
+                    int blockEnd = Math.min(blockStart + sccSize, n);
+                    if (blockEnd - blockStart > 1) {
+                        sink.edge(u, u + 1 < blockEnd ? u + 1 : blockStart, weight(random));
+                        edges++;
+                    }
+                    if (blockEnd < n) {
+                        int degree = degree(random, Math.max(0.0, averageDegree - 1.0));
+                        for (int i = 0; i < degree; i++) {
+                            sink.edge(u, blockEnd + random.nextInt(n - blockEnd), weight(random));
+                        }
+                        edges += degree;
+                    }
+                    break;
+                }
+
+                case POWER_LAW: {
+                    int degree = paretoDegree(random);
+                    for (int i = 0; i < degree; i++) {
+                        sink.edge(u, random.nextInt(n), weight(random));
+                    }
+                    edges += degree;
+                    break;
+                }
+
+                default:
+                    throw new IllegalStateException("Unknown family " + family);
+            }
+        }
+        return edges;
+    }
+
+    private int weight(SplittableRandom random) {
+        return 1 + random.nextInt(maxWeight);
+    }
+
+    // floor(mean) edges plus one more with probability frac(mean), so the expected degree is mean.
+    private static int degree(SplittableRandom random, double mean) {
+        int whole = (int) mean;
+        return whole + (random.nextDouble() < mean - whole ? 1 : 0);
+    }
+
+    // Discrete Pareto with exponent alpha, scaled so the mean is close to averageDegree.
+    private int paretoDegree(SplittableRandom random) {
+        double alpha = powerLawExponent;
+        double minimum = alpha > 2.0 ? Math.max(averageDegree * (alpha - 2.0) / (alpha - 1.0), 0.5) : 1.0;
+        double sample = minimum * Math.pow(1.0 - random.nextDouble(), -1.0 / (alpha - 1.0));
+        return (int) Math.min(n - 1L, (long) sample);
+    }
+
+    public long writeJson(Path file) throws IOException {
+        try (JsonGenerator json = FACTORY.createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeBooleanField("directed", true);
+            json.writeNumberField("n", n);
+            json.writeArrayFieldStart("edges");
+            long edges = generate((u, v, w) -> {
+                json.writeStartObject();
+                json.writeNumberField("u", u);
+                json.writeNumberField("v", v);
+                json.writeNumberField("w", w);
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+            json.writeNumberField("source", 0);
+            json.writeStringField("weight_model", "edge");
+            json.writeEndObject();
+            return edges;
+        }
+    }
+
+    public long writeBinary(Path file) throws IOException {
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file, n, 0, "edge")) {
+            return generate(writer::edge);
+        }
+    }
+}
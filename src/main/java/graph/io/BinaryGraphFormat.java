@@ -0,0 +1,98 @@
+package graph.io;
+
+import graph.model.GraphData;
+import graph.model.GraphView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk graph snapshot, little-endian:
+ * <pre>
+ *   header   magic, version, n, m, source, weight model, flags, reserved  (8 x int32)
+ *   offsets  (n + 1) x int32
+ *   targets  m x int32
+ *   weights  m x int32, present when FLAG_WEIGHTED is set
+ * </pre>
+ * The layout matches CsrGraph section by section, so MappedGraph can serve it
+ * straight from the page cache.
+ */
+public final class BinaryGraphFormat {
+    public static final int MAGIC = 0x47525343;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+
+    public static final int WEIGHT_MODEL_EDGE = 0;
+    public static final int WEIGHT_MODEL_NODE = 1;
+
+    public static final int FLAG_WEIGHTED = 1;
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private BinaryGraphFormat() {
+    }
+
+    public static int weightModelCode(String weightModel) {
+        return "node".equals(weightModel) ? WEIGHT_MODEL_NODE : WEIGHT_MODEL_EDGE;
+    }
+
+    public static String weightModelName(int code) {
+        return code == WEIGHT_MODEL_NODE ? "node" : "edge";
+    }
+
+    public static void convert(Path json, Path binary) throws IOException {
+        GraphData data = new GraphLoader().load(json);
+        write(data.toCsr(), data.weightModel, binary);
+    }
+
+    public static void write(GraphView graph, String weightModel, Path file) throws IOException {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            writeHeader(buffer, n, m, graph.getSource(), weightModelCode(weightModel), FLAG_WEIGHTED);
+            for (int u = 0; u < n; u++) {
+                putInt(channel, buffer, graph.edgeStart(u));
+            }
+            putInt(channel, buffer, n == 0 ? 0 : graph.edgeEnd(n - 1));
+            for (int e = 0; e < m; e++) {
+                putInt(channel, buffer, graph.target(e));
+            }
+            for (int e = 0; e < m; e++) {
+                putInt(channel, buffer, graph.weight(e));
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    static void writeHeader(ByteBuffer buffer, int n, int m, int source, int weightModel, int flags) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(n);
+        buffer.putInt(m);
+        buffer.putInt(source);
+        buffer.putInt(weightModel);
+        buffer.putInt(flags);
+        buffer.putInt(0);
+    }
+
+    static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,128 @@
+package graph.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a BinaryGraphFormat file from edges that arrive grouped by source node, without
+ * knowing the edge count up front. Offsets, targets and weights are spooled to three
+ * sibling files through fixed-size buffers and stitched behind the header on close, so
+ * heap use does not depend on the graph size.
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final Path file;
+    private final int n;
+    private final int source;
+    private final int weightModel;
+    private final Path offsetsPart;
+    private final Path targetsPart;
+    private final Path weightsPart;
+    private final FileChannel offsets;
+    private final FileChannel targets;
+    private final FileChannel weights;
+    private final ByteBuffer offsetsBuffer;
+    private final ByteBuffer targetsBuffer;
+    private final ByteBuffer weightsBuffer;
+
+    private int currentNode;
+    private long edges;
+    private boolean closed;
+
+    public BinaryGraphWriter(Path file, int n, int source, String weightModel) throws IOException {
+        this.file = file;
+        this.n = n;
+        this.source = source;
+        this.weightModel = BinaryGraphFormat.weightModelCode(weightModel);
+        this.offsetsPart = sibling(file, ".offsets.part");
+        this.targetsPart = sibling(file, ".targets.part");
+        this.weightsPart = sibling(file, ".weights.part");
+        this.offsets = openPart(offsetsPart);
+        this.targets = openPart(targetsPart);
+        this.weights = openPart(weightsPart);
+        this.offsetsBuffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.targetsBuffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.weightsBuffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        BinaryGraphFormat.putInt(offsets, offsetsBuffer, 0);
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static FileChannel openPart(Path part) throws IOException {
+        return FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public void edge(int u, int v, int w) throws IOException {
+        if (u < currentNode || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge " + u + "->" + v + " is out of order or out of range");
+        }
+        if (edges == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Binary snapshots hold at most " + Integer.MAX_VALUE + " edges");
+        }
+        advanceTo(u);
+        BinaryGraphFormat.putInt(targets, targetsBuffer, v);
+        BinaryGraphFormat.putInt(weights, weightsBuffer, w);
+        edges++;
+    }
+
+    // Closes the offsets of every node before u.
+    private void advanceTo(int u) throws IOException {
+        while (currentNode < u) {
+            BinaryGraphFormat.putInt(offsets, offsetsBuffer, (int) edges);
+            currentNode++;
+        }
+    }
+
+    public long getEdgeCount() {
+        return edges;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            advanceTo(n);
+            BinaryGraphFormat.drain(offsets, offsetsBuffer);
+            BinaryGraphFormat.drain(targets, targetsBuffer);
+            BinaryGraphFormat.drain(weights, weightsBuffer);
+
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                BinaryGraphFormat.writeHeader(header, n, (int) edges, source, weightModel, BinaryGraphFormat.FLAG_WEIGHTED);
+                BinaryGraphFormat.drain(out, header);
+                append(offsets, out);
+                append(targets, out);
+                append(weights, out);
+            }
+        } finally {
+            offsets.close();
+            targets.close();
+            weights.close();
+            Files.deleteIfExists(offsetsPart);
+            Files.deleteIfExists(targetsPart);
+            Files.deleteIfExists(weightsPart);
+        }
+    }
+
+    private static void append(FileChannel part, FileChannel out) throws IOException {
+        long size = part.size();
+        long position = 0;
+        while (position < size) {
+            position += part.transferTo(position, size - position, out);
+        }
+    }
+}
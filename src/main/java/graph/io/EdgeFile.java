@@ -0,0 +1,215 @@
+package graph.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential edge passes over a BinaryGraphFormat file for algorithms whose edges do
+ * not fit in memory. Only two fixed buffers are held, one over the offsets section and
+ * one over the targets section, both filled with positional channel reads. Passes can
+ * run backwards as well, which lets label propagation alternate direction and cover a
+ * chain in either id order in one pass. Weights are never read.
+ */
+public final class EdgeFile implements Closeable {
+    public static final int MIN_BUFFER_BYTES = 1 << 13;
+    public static final int MAX_BUFFER_BYTES = 1 << 23;
+
+    public interface EdgeVisitor {
+        void edge(int u, int v);
+
+        /** Called once per node after its last edge, including nodes without edges. */
+        default void endNode(int u) {
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int n;
+    private final int m;
+    private final int source;
+    private final long offsetsPos;
+    private final long targetsPos;
+    private final Cursor offsets;
+    private final Cursor targets;
+    private final int bufferBytes;
+    private long bytesRead;
+    private int passes;
+
+    private EdgeFile(Path file, FileChannel channel, int n, int m, int source, int bufferBytes) {
+        this.file = file;
+        this.channel = channel;
+        this.n = n;
+        this.m = m;
+        this.source = source;
+        this.offsetsPos = BinaryGraphFormat.HEADER_BYTES;
+        this.targetsPos = offsetsPos + 4L * (n + 1);
+        this.bufferBytes = bufferBytes;
+        this.offsets = new Cursor(bufferBytes / 2);
+        this.targets = new Cursor(bufferBytes / 2);
+    }
+
+    /**
+     * Opens the file with whatever buffer space is left of the memory budget after
+     * stateBytesPerNode bytes of per-node state, capped at MAX_BUFFER_BYTES.
+     */
+    public static EdgeFile open(Path file, long memoryBudget, int stateBytesPerNode) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException(file + " is too short for a graph header");
+                }
+            }
+            header.flip();
+            if (header.getInt() != BinaryGraphFormat.MAGIC) {
+                throw new IOException(file + " is not a binary graph snapshot");
+            }
+            int version = header.getInt();
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            int n = header.getInt();
+            int m = header.getInt();
+            int source = header.getInt();
+
+            long expected = BinaryGraphFormat.HEADER_BYTES + 4L * (n + 1) + 4L * m;
+            if (channel.size() < expected) {
+                throw new IOException(file + " is truncated: expected " + expected + " bytes, found " + channel.size());
+            }
+            long state = (long) stateBytesPerNode * n;
+            long buffer = Math.min(MAX_BUFFER_BYTES, memoryBudget - state) & ~7L;
+            if (buffer < MIN_BUFFER_BYTES) {
+                throw new IllegalArgumentException(String.format(
+                        "Memory budget of %d bytes is too small: %d nodes need %d bytes of state plus %d bytes of buffers",
+                        memoryBudget, n, state, MIN_BUFFER_BYTES));
+            }
+            return new EdgeFile(file, channel, n, m, source, (int) buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams every edge once, in file order or in exactly the reverse order.
+     */
+    public void scan(EdgeVisitor visitor, boolean reverse) throws IOException {
+        passes++;
+        offsets.reset(offsetsPos, targetsPos, reverse);
+        targets.reset(targetsPos, targetsPos + 4L * m, reverse);
+        if (!reverse) {
+            int begin = offsets.next();
+            for (int u = 0; u < n; u++) {
+                int end = offsets.next();
+                for (int e = begin; e < end; e++) {
+                    visitor.edge(u, targets.next());
+                }
+                visitor.endNode(u);
+                begin = end;
+            }
+        } else {
+            int end = offsets.next();
+            for (int u = n - 1; u >= 0; u--) {
+                int begin = offsets.next();
+                for (int e = begin; e < end; e++) {
+                    visitor.edge(u, targets.next());
+                }
+                visitor.endNode(u);
+                end = begin;
+            }
+        }
+    }
+
+    public int nodeCount() {
+        return n;
+    }
+
+    public int edgeCount() {
+        return m;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public long bytesPerPass() {
+        return targetsPos + 4L * m - offsetsPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "EdgeFile[" + file + ", n=" + n + ", edges=" + m + "]";
+    }
+
+    // Reads one section forwards or backwards in buffer-sized chunks.
+    private final class Cursor {
+        private final ByteBuffer buffer;
+        private long start;
+        private long end;
+        private long position;
+        private boolean reverse;
+        private int count;
+        private int index;
+
+        Cursor(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void reset(long start, long end, boolean reverse) {
+            this.start = start;
+            this.end = end;
+            this.reverse = reverse;
+            this.position = reverse ? end : start;
+            this.count = 0;
+            this.index = reverse ? -1 : 0;
+        }
+
+        int next() throws IOException {
+            if (reverse ? index < 0 : index >= count) {
+                fill();
+            }
+            return buffer.getInt(4 * (reverse ? index-- : index++));
+        }
+
+        private void fill() throws IOException {
+            long bytes = Math.min(buffer.capacity(), reverse ? position - start : end - position);
+            if (bytes <= 0) {
+                throw new IOException(file + " ended inside an edge pass");
+            }
+            long from = reverse ? position - bytes : position;
+            buffer.clear().limit((int) bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, from + buffer.position()) < 0) {
+                    throw new IOException(file + " ended inside an edge pass");
+                }
+            }
+            bytesRead += bytes;
+            position = reverse ? from : from + bytes;
+            count = (int) (bytes / 4);
+            index = reverse ? count - 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package graph.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import graph.model.GraphData;
+import graph.model.IntArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the src/data dataset format ({"n", "edges": [{"u","v","w"}], "source", "weight_model"},
+ * plus an optional "durations" array of per-node weights)
+ * token by token with Jackson's streaming parser. Edges go straight into the growable int
+ * arrays of GraphData, so no tree and no per-edge object is ever built.
+ */
+public class GraphLoader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private long bytesRead;
+    private long edgesRead;
+    private long elapsedNanos;
+
+    public GraphData load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    public GraphData load(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        GraphData data = new GraphData();
+        boolean sawN = false;
+
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object at the top level");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "n":
+                        data.n = parser.getIntValue();
+                        sawN = true;
+                        break;
+                    case "source":
+                        data.source = parser.getIntValue();
+                        break;
+                    case "weight_model":
+                        data.weightModel = parser.getText();
+                        break;
+                    case "edges":
+                        if (value != JsonToken.START_ARRAY) {
+                            throw new JsonParseException(parser, "\"edges\" must be an array");
+                        }
+                        readEdges(parser, data);
+                        break;
+                    case "durations":
+                        if (value != JsonToken.START_ARRAY) {
+                            throw new JsonParseException(parser, "\"durations\" must be an array");
+                        }
+                        data.durations = new IntArrayList();
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            data.durations.add(parser.getIntValue());
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            bytesRead = parser.getCurrentLocation().getByteOffset();
+        }
+
+        if (!sawN) {
+            throw new IOException("Dataset has no \"n\" field");
+        }
+        validate(data);
+
+        edgesRead = data.edgeCount();
+        elapsedNanos = System.nanoTime() - start;
+        return data;
+    }
+
+    private void readEdges(JsonParser parser, GraphData data) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int u = -1;
+            int v = -1;
+            int w = 1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u":
+                        u = parser.getIntValue();
+                        break;
+                    case "v":
+                        v = parser.getIntValue();
+                        break;
+                    case "w":
+                        w = parser.getIntValue();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (u < 0 || v < 0) {
+                throw new JsonParseException(parser, "Edge needs non-negative \"u\" and \"v\"");
+            }
+            data.addEdge(u, v, w);
+        }
+    }
+
+    private void validate(GraphData data) throws IOException {
+        if (data.n < 0) {
+            throw new IOException("Negative node count: " + data.n);
+        }
+        if (data.n > 0 && (data.source < 0 || data.source >= data.n)) {
+            throw new IOException("Source " + data.source + " outside [0, " + data.n + ")");
+        }
+        int[] from = data.from.buffer();
+        int[] to = data.to.buffer();
+        for (int i = 0; i < data.edgeCount(); i++) {
+            if (from[i] >= data.n || to[i] >= data.n) {
+                throw new IOException("Edge " + from[i] + "->" + to[i] + " references a node >= n=" + data.n);
+            }
+        }
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getEdgesRead() {
+        return edgesRead;
+    }
+
+    public long getElapsedTime() {
+        return elapsedNanos;
+    }
+
+    public String throughputReport() {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return String.format("Loaded %d edges (%d bytes) in %.3f ms: %.0f edges/s, %.1f MB/s",
+                edgesRead, bytesRead, elapsedNanos / 1e6, edgesRead / seconds, bytesRead / seconds / 1e6);
+    }
+}
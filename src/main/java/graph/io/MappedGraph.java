@@ -0,0 +1,160 @@
+package graph.io;
+
+import graph.model.GraphView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Zero-copy view of a BinaryGraphFormat file. Opening only maps the sections, so the
+ * cost is independent of the edge count; pages are faulted in as the algorithms scan.
+ */
+public final class MappedGraph implements GraphView {
+    private final int n;
+    private final int m;
+    private final int source;
+    private final String weightModel;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    private MappedGraph(int n, int m, int source, String weightModel,
+                        IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        this.n = n;
+        this.m = m;
+        this.source = source;
+        this.weightModel = weightModel;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException(file + " is too short for a graph header");
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != BinaryGraphFormat.MAGIC) {
+                throw new IOException(file + " is not a binary graph snapshot");
+            }
+            int version = header.getInt();
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            int n = header.getInt();
+            int m = header.getInt();
+            int source = header.getInt();
+            int weightModel = header.getInt();
+            int flags = header.getInt();
+            boolean weighted = (flags & BinaryGraphFormat.FLAG_WEIGHTED) != 0;
+
+            long offsetsPos = BinaryGraphFormat.HEADER_BYTES;
+            long targetsPos = offsetsPos + 4L * (n + 1);
+            long weightsPos = targetsPos + 4L * m;
+            long expected = weightsPos + (weighted ? 4L * m : 0);
+            if (channel.size() < expected) {
+                throw new IOException(file + " is truncated: expected " + expected + " bytes, found " + channel.size());
+            }
+
+            // The mappings stay valid after the channel is closed.
+            return new MappedGraph(n, m, source, BinaryGraphFormat.weightModelName(weightModel),
+                    map(channel, offsetsPos, n + 1),
+                    map(channel, targetsPos, m),
+                    weighted ? map(channel, weightsPos, m) : null);
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long position, int ints) throws IOException {
+        long bytes = 4L * ints;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + bytes + " bytes exceeds the 2 GiB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, bytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+    }
+
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    @Override
+    public int nodeCount() {
+        return n;
+    }
+
+    @Override
+    public int edgeCount() {
+        return m;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets.get(u);
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets.get(u + 1);
+    }
+
+    @Override
+    public int target(int e) {
+        return targets.get(e);
+    }
+
+    @Override
+    public int weight(int e) {
+        return weights == null ? 0 : weights.get(e);
+    }
+
+    @Override
+    public EdgeCursor edges() {
+        return new Cursor();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedGraph[n=%d, edges=%d, source=%d]", n, m, source);
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int edge;
+        private int end;
+
+        @Override
+        public void reset(int u) {
+            edge = offsets.get(u) - 1;
+            end = offsets.get(u + 1);
+        }
+
+        @Override
+        public boolean next() {
+            return ++edge < end;
+        }
+
+        @Override
+        public int target() {
+            return targets.get(edge);
+        }
+
+        @Override
+        public int weight() {
+            return weights == null ? 0 : weights.get(edge);
+        }
+    }
+}
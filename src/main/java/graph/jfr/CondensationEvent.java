@@ -0,0 +1,14 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.CondensationBuild")
+@Label("Condensation Build")
+public class CondensationEvent extends GraphPhaseEvent {
+    @Label("Components")
+    public int components;
+
+    @Label("Condensation Edges")
+    public int condensationEdges;
+}
@@ -0,0 +1,23 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.CriticalPath")
+@Label("Critical Path Method")
+public class CriticalPathEvent extends GraphPhaseEvent {
+    @Label("Weight Model")
+    public String weightModel;
+
+    @Label("Components")
+    public int components;
+
+    @Label("Project Duration")
+    public long projectDuration;
+
+    @Label("Critical Tasks")
+    public int criticalTasks;
+
+    @Label("Relaxations")
+    public long relaxations;
+}
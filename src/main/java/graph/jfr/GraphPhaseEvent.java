@@ -0,0 +1,32 @@
+package graph.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of every algorithm phase event. Events are created, begun and only
+ * filled in when shouldCommit() is true, so with recording off the JIT removes the
+ * allocation and the phase pays nothing beyond two no-op calls. Phases read their
+ * start time after begin(), so loading the event class on a first run is not counted
+ * as algorithm time.
+ */
+@Category({"Graph", "Algorithms"})
+@StackTrace(false)
+public abstract class GraphPhaseEvent extends Event {
+    @Label("Graph Id")
+    public String graphId;
+
+    @Label("Nodes")
+    public int nodes;
+
+    @Label("Edges")
+    public long edges;
+
+    public void graph(String graphId, int nodes, long edges) {
+        this.graphId = graphId;
+        this.nodes = nodes;
+        this.edges = edges;
+    }
+}
@@ -0,0 +1,31 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.PathSweep")
+@Label("Shortest/Longest Path Sweep")
+public class PathSweepEvent extends GraphPhaseEvent {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Source")
+    public int source;
+
+    @Label("Sources")
+    public int sources;
+
+    @Label("Relaxations")
+    public long relaxations;
+
+    public void sweep(String algorithm, boolean longest, int source, int sources, long relaxations) {
+        this.algorithm = algorithm;
+        this.mode = longest ? "longest" : "shortest";
+        this.source = source;
+        this.sources = sources;
+        this.relaxations = relaxations;
+    }
+}
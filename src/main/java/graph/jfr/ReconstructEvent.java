@@ -0,0 +1,14 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.PathReconstruction")
+@Label("Path Reconstruction")
+public class ReconstructEvent extends GraphPhaseEvent {
+    @Label("Target")
+    public int target;
+
+    @Label("Path Length")
+    public int pathLength;
+}
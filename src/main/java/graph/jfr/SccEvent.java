@@ -0,0 +1,20 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.SccSearch")
+@Label("SCC Search")
+public class SccEvent extends GraphPhaseEvent {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Components")
+    public int components;
+
+    @Label("DFS Visits")
+    public long dfsVisits;
+
+    @Label("DFS Edges")
+    public long dfsEdges;
+}
@@ -0,0 +1,17 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.ListSchedule")
+@Label("List Schedule")
+public class ScheduleEvent extends GraphPhaseEvent {
+    @Label("Workers")
+    public int workers;
+
+    @Label("Makespan")
+    public long makespan;
+
+    @Label("Relaxations")
+    public long relaxations;
+}
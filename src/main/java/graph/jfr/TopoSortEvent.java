@@ -0,0 +1,17 @@
+package graph.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("graph.TopologicalSort")
+@Label("Topological Sort")
+public class TopoSortEvent extends GraphPhaseEvent {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Ordered Nodes")
+    public int ordered;
+
+    @Label("Levels")
+    public int levels;
+}
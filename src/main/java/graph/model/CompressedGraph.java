@@ -0,0 +1,276 @@
+package graph.model;
+
+import java.util.*;
+
+/**
+ * Read-only graph whose edges are varint-encoded in one byte array. Each node's edges
+ * are sorted by target and stored as the zigzag gap from the previous edge's target,
+ * shifted left by four bits; weights 0..14 ride in those low bits and anything else
+ * follows as its own zigzag varint. Local edges with small weights therefore cost one
+ * byte, against eight in CsrGraph.
+ *
+ * Every 16th edge is a restart holding its absolute target, and its byte position is
+ * kept, so target(e) and weight(e) decode at most 15 edges. Each thread keeps a cursor
+ * on the last edge it decoded, and asking for a later edge in the same block continues
+ * from there. edges() hands out a cursor of its own that decodes a node's list in one
+ * run, skipping at most 15 edges to reach its start, and the graph reports
+ * sequentialEdges(), so traversals that interleave nodes pay that once per node
+ * rather than once per edge. Edge slots are numbered
+ * after sorting, so they can differ from the source graph's slots within a node.
+ */
+public final class CompressedGraph implements GraphView {
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCK_MASK = (1 << BLOCK_SHIFT) - 1;
+    private static final int WEIGHT_ESCAPE = 15;
+
+    private final int n;
+    private final int m;
+    private final int source;
+    private final int[] offsets;
+    private final int[] blockStart;
+    private final byte[] data;
+    private final Cursor ownerCursor = new Cursor(Thread.currentThread());
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(() -> new Cursor(Thread.currentThread()));
+
+    private CompressedGraph(int n, int m, int source, int[] offsets, int[] blockStart, byte[] data) {
+        this.n = n;
+        this.m = m;
+        this.source = source;
+        this.offsets = offsets;
+        this.blockStart = blockStart;
+        this.data = data;
+    }
+
+    private final class Cursor implements EdgeCursor {
+        final Thread owner;
+        int edge = -1;
+        int position;
+        int target;
+        int weight;
+        private int nextEdge;
+        private int end;
+
+        Cursor(Thread owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void reset(int u) {
+            nextEdge = offsets[u];
+            end = offsets[u + 1];
+        }
+
+        @Override
+        public boolean next() {
+            int e = nextEdge;
+            if (e >= end) {
+                return false;
+            }
+            nextEdge = e + 1;
+            if (e == edge + 1) {
+                step();
+            } else {
+                seek(e);
+            }
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        // Moves to edge e, continuing from the current edge unless that means skipping a restart.
+        Cursor seek(int e) {
+            if (e == edge) {
+                return this;
+            }
+            int first = e & ~BLOCK_MASK;
+            if (e < edge || edge < first - 1) {
+                edge = first - 1;
+                position = blockStart[e >>> BLOCK_SHIFT];
+            }
+            while (edge < e) {
+                step();
+            }
+            return this;
+        }
+
+        // Decodes the edge after the current one.
+        private void step() {
+            byte[] bytes = data;
+            int p = position;
+            long value = bytes[p++];
+            if (value < 0) {
+                value &= 0x7F;
+                int shift = 7;
+                byte b;
+                do {
+                    b = bytes[p++];
+                    value |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+
+            int e = ++edge;
+            int delta = (int) (value >>> 4);
+            target = (e & BLOCK_MASK) == 0 ? delta : target + unzigzag(delta);
+            int w = (int) value & 15;
+            if (w == WEIGHT_ESCAPE) {
+                int escaped = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[p++];
+                    escaped |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                w = unzigzag(escaped);
+            }
+            weight = w;
+            position = p;
+        }
+    }
+
+    public static CompressedGraph encode(GraphView graph) {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        int[] offsets = new int[n + 1];
+        int[] blockStart = new int[(m + BLOCK_MASK) >>> BLOCK_SHIFT];
+        byte[] data = new byte[Math.max(16, m + m / 2)];
+        int size = 0;
+
+        long[] sorted = new long[16];
+        int edge = 0;
+        int previous = 0;
+        for (int u = 0; u < n; u++) {
+            int degree = graph.outDegree(u);
+            if (sorted.length < degree) {
+                sorted = new long[Math.max(degree, sorted.length * 2)];
+            }
+            // Target in the high half, edge slot in the low half, so ties keep input order.
+            for (int i = 0, e = graph.edgeStart(u); i < degree; i++, e++) {
+                sorted[i] = ((long) graph.target(e) << 32) | (e - graph.edgeStart(u));
+            }
+            Arrays.sort(sorted, 0, degree);
+
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (sorted[i] >>> 32);
+                int weight = graph.weight(graph.edgeStart(u) + (int) sorted[i]);
+                if (data.length - size < 16) {
+                    long grown = Math.min((long) data.length * 2, Integer.MAX_VALUE - 8);
+                    if (grown - size < 16) {
+                        throw new IllegalArgumentException("Encoded edges exceed a single byte array");
+                    }
+                    data = Arrays.copyOf(data, (int) grown);
+                }
+
+                long delta;
+                if ((edge & BLOCK_MASK) == 0) {
+                    blockStart[edge >>> BLOCK_SHIFT] = size;
+                    delta = target & 0xFFFFFFFFL;
+                } else {
+                    delta = zigzag(target - previous) & 0xFFFFFFFFL;
+                }
+                boolean packed = weight >= 0 && weight < WEIGHT_ESCAPE;
+                size = putVarint(data, size, (delta << 4) | (packed ? weight : WEIGHT_ESCAPE));
+                if (!packed) {
+                    size = putVarint(data, size, zigzag(weight) & 0xFFFFFFFFL);
+                }
+                previous = target;
+                edge++;
+            }
+            offsets[u + 1] = edge;
+        }
+        return new CompressedGraph(n, m, graph.getSource(), offsets, blockStart, Arrays.copyOf(data, size));
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int putVarint(byte[] data, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    private Cursor cursor() {
+        Cursor cursor = ownerCursor;
+        return cursor.owner == Thread.currentThread() ? cursor : cursors.get();
+    }
+
+    @Override
+    public int nodeCount() {
+        return n;
+    }
+
+    @Override
+    public int edgeCount() {
+        return m;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets[u];
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets[u + 1];
+    }
+
+    @Override
+    public int target(int e) {
+        return cursor().seek(e).target;
+    }
+
+    @Override
+    public int weight(int e) {
+        return cursor().seek(e).weight;
+    }
+
+    @Override
+    public boolean sequentialEdges() {
+        return true;
+    }
+
+    @Override
+    public EdgeCursor edges() {
+        return new Cursor(Thread.currentThread());
+    }
+
+    public long heapBytes() {
+        return 4L * offsets.length + 4L * blockStart.length + data.length;
+    }
+
+    public int encodedBytes() {
+        return data.length;
+    }
+
+    public double bytesPerEdge() {
+        return m == 0 ? 0.0 : (double) heapBytes() / m;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompressedGraph[n=%d, edges=%d, source=%d, %.2f bytes/edge]", n, m, source, bytesPerEdge());
+    }
+}
@@ -0,0 +1,162 @@
+package graph.model;
+
+import java.util.*;
+
+/**
+ * Immutable directed graph in compressed-sparse-row form. The out-edges of node u
+ * are the slots offsets[u] .. offsets[u + 1] - 1 of targets and weights.
+ */
+public final class CsrGraph implements GraphView {
+    public final int n;
+    public final int m;
+    public final int source;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    public CsrGraph(int n, int source, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("offsets must have n + 1 entries");
+        }
+        if (weights != null && weights.length < offsets[n]) {
+            throw new IllegalArgumentException("weights shorter than edge count");
+        }
+        this.n = n;
+        this.m = offsets[n];
+        this.source = source;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CsrGraph fromAdjacency(List<List<Integer>> graph) {
+        int n = graph.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.get(u).size();
+        }
+        int[] targets = new int[offsets[n]];
+        int e = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v : graph.get(u)) {
+                targets[e++] = v;
+            }
+        }
+        return new CsrGraph(n, 0, offsets, targets, null);
+    }
+
+    public static CsrGraph fromEdges(int n, int source, int[] from, int[] to, int[] weight, int edgeCount) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[from[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        // Stable counting sort by source node keeps each node's edges in input order.
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[edgeCount];
+        int[] weights = weight == null ? null : new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = cursor[from[i]]++;
+            targets[slot] = to[i];
+            if (weights != null) {
+                weights[slot] = weight[i];
+            }
+        }
+        return new CsrGraph(n, source, offsets, targets, weights);
+    }
+
+    @Override
+    public int nodeCount() {
+        return n;
+    }
+
+    @Override
+    public int edgeCount() {
+        return m;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int edgeStart(int u) {
+        return offsets[u];
+    }
+
+    @Override
+    public int edgeEnd(int u) {
+        return offsets[u + 1];
+    }
+
+    @Override
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int target(int e) {
+        return targets[e];
+    }
+
+    @Override
+    public int weight(int e) {
+        return weights == null ? 0 : weights[e];
+    }
+
+    @Override
+    public EdgeCursor edges() {
+        return new Cursor();
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public CsrGraph withSource(int newSource) {
+        return new CsrGraph(n, newSource, offsets, targets, weights);
+    }
+
+    public long heapBytes() {
+        long bytes = 4L * offsets.length + 4L * targets.length;
+        if (weights != null) {
+            bytes += 4L * weights.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsrGraph[n=%d, edges=%d, source=%d]", n, m, source);
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int edge;
+        private int end;
+
+        @Override
+        public void reset(int u) {
+            edge = offsets[u] - 1;
+            end = offsets[u + 1];
+        }
+
+        @Override
+        public boolean next() {
+            return ++edge < end;
+        }
+
+        @Override
+        public int target() {
+            return targets[edge];
+        }
+
+        @Override
+        public int weight() {
+            return weights == null ? 0 : weights[edge];
+        }
+    }
+}
@@ -1,6 +1,57 @@
 package graph.model;
 
+import java.util.Arrays;
+
 public class GraphData {
+    public int n;
+    public int source;
+    public String weightModel = "edge";
+    public final IntArrayList from;
+    public final IntArrayList to;
+    public final IntArrayList weight;
+    public IntArrayList durations;
+
+    public GraphData() {
+        this(16);
+    }
+
+    public GraphData(int expectedEdges) {
+        this.from = new IntArrayList(expectedEdges);
+        this.to = new IntArrayList(expectedEdges);
+        this.weight = new IntArrayList(expectedEdges);
+    }
+
+    public void addEdge(int u, int v, int w) {
+        from.add(u);
+        to.add(v);
+        weight.add(w);
+    }
+
+    public int[] nodeDurations() {
+        int[] result = new int[n];
+        if (durations == null) {
+            Arrays.fill(result, 1);
+            return result;
+        }
+        for (int v = 0; v < n; v++) {
+            result[v] = v < durations.size() ? durations.get(v) : 1;
+        }
+        return result;
+    }
+
+    public int edgeCount() {
+        return from.size();
+    }
+
+    public CsrGraph toCsr() {
+        return CsrGraph.fromEdges(n, source, from.buffer(), to.buffer(), weight.buffer(), edgeCount());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Graph[n=%d, edges=%d, source=%d]", n, edgeCount(), source);
+    }
+
     public static class WeightedEdge {
         public int u, v, w;
         public WeightedEdge(int u, int v, int w) {
@@ -9,4 +60,4 @@ public class GraphData {
             this.w = w;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package graph.model;
+
+import java.util.*;
+
+/**
+ * Read-only CSR-shaped access to a directed graph: the out-edges of node u are the
+ * edge slots edgeStart(u) .. edgeEnd(u) - 1. Implemented by heap arrays (CsrGraph),
+ * by memory-mapped snapshots (MappedGraph) and by varint-encoded edges
+ * (CompressedGraph). Traversals that read whole neighbor lists should go through
+ * edges(), which an encoded graph can serve by decoding each list in one run.
+ */
+public interface GraphView {
+
+    /**
+     * Reads the out-edges of one node at a time, in slot order: reset(u), then
+     * next() until it returns false. One cursor serves one thread.
+     */
+    interface EdgeCursor {
+        void reset(int u);
+
+        boolean next();
+
+        int target();
+
+        int weight();
+    }
+
+    int nodeCount();
+
+    int edgeCount();
+
+    int getSource();
+
+    int edgeStart(int u);
+
+    int edgeEnd(int u);
+
+    int target(int e);
+
+    int weight(int e);
+
+    default int outDegree(int u) {
+        return edgeEnd(u) - edgeStart(u);
+    }
+
+    /**
+     * True when target(e) and weight(e) are costly out of order, so traversals that
+     * would resume a node's edges later should read its list through edges() at once.
+     */
+    default boolean sequentialEdges() {
+        return false;
+    }
+
+    /** A new cursor over this graph; the default reads target(e) and weight(e) slot by slot. */
+    default EdgeCursor edges() {
+        return new SlotCursor(this);
+    }
+
+    default List<List<Integer>> toAdjacencyList() {
+        int n = nodeCount();
+        List<List<Integer>> graph = new ArrayList<>(n);
+        EdgeCursor edges = edges();
+        for (int u = 0; u < n; u++) {
+            List<Integer> neighbors = new ArrayList<>(outDegree(u));
+            edges.reset(u);
+            while (edges.next()) {
+                neighbors.add(edges.target());
+            }
+            graph.add(neighbors);
+        }
+        return graph;
+    }
+
+    default void printGraph() {
+        int n = nodeCount();
+        System.out.println("Graph (n=" + n + ", source=" + getSource() + "):");
+        for (int u = 0; u < n; u++) {
+            StringBuilder sb = new StringBuilder("[");
+            for (int e = edgeStart(u); e < edgeEnd(u); e++) {
+                if (e > edgeStart(u)) {
+                    sb.append(", ");
+                }
+                sb.append(String.format("(->%d, w:%d)", target(e), weight(e)));
+            }
+            System.out.println("  Node " + u + " -> " + sb.append(']'));
+        }
+    }
+}
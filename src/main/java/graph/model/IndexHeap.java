@@ -0,0 +1,114 @@
+package graph.model;
+
+import java.util.Arrays;
+
+/**
+ * Heap of int ids ordered by an external long key array, smallest key first or
+ * largest first; equal keys come out by increasing id. It is 4-ary rather than
+ * binary: half the levels, and the four children of a node share a cache line.
+ * Each id's key is copied
+ * next to it when the id is added, so sifting reads two parallel primitive arrays
+ * instead of chasing ids into the key array, and nothing is allocated per id. The
+ * arrays grow on demand up to the capacity. A key must not change while its id is
+ * in the heap.
+ */
+public final class IndexHeap {
+    private final long[] key;
+    private final boolean max;
+    private final int capacity;
+    private int[] ids;
+    private long[] keys;
+    private int size;
+
+    public IndexHeap(int capacity, long[] key, boolean max) {
+        this.key = key;
+        this.max = max;
+        this.capacity = capacity;
+        this.ids = new int[Math.max(1, Math.min(capacity, 1024))];
+        this.keys = new long[ids.length];
+    }
+
+    private boolean before(long ka, int a, long kb, int b) {
+        if (ka != kb) {
+            return max ? ka > kb : ka < kb;
+        }
+        return a < b;
+    }
+
+    public void add(int id) {
+        if (size == ids.length) {
+            if (size >= capacity) {
+                throw new IllegalStateException("Heap is full at " + size + " ids");
+            }
+            int grown = (int) Math.min(capacity, 2L * ids.length);
+            ids = Arrays.copyOf(ids, grown);
+            keys = Arrays.copyOf(keys, grown);
+        }
+        long k = key[id];
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 2;
+            if (!before(k, id, keys[parent], ids[parent])) {
+                break;
+            }
+            ids[i] = ids[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        ids[i] = id;
+        keys[i] = k;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return ids[0];
+    }
+
+    public long peekKey() {
+        peek();
+        return keys[0];
+    }
+
+    public int poll() {
+        int top = peek();
+        int lastId = ids[--size];
+        long lastKey = keys[size];
+        int i = 0;
+        while (true) {
+            int first = 4 * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int child = first;
+            int end = Math.min(first + 4, size);
+            for (int c = first + 1; c < end; c++) {
+                if (before(keys[c], ids[c], keys[child], ids[child])) {
+                    child = c;
+                }
+            }
+            if (!before(keys[child], ids[child], lastKey, lastId)) {
+                break;
+            }
+            ids[i] = ids[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        ids[i] = lastId;
+        keys[i] = lastKey;
+        return top;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
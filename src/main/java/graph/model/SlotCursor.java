@@ -0,0 +1,36 @@
+package graph.model;
+
+/**
+ * The default GraphView.EdgeCursor: walks the edge slots of a node through
+ * target(e) and weight(e).
+ */
+final class SlotCursor implements GraphView.EdgeCursor {
+    private final GraphView graph;
+    private int edge;
+    private int end;
+
+    SlotCursor(GraphView graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public void reset(int u) {
+        edge = graph.edgeStart(u) - 1;
+        end = graph.edgeEnd(u);
+    }
+
+    @Override
+    public boolean next() {
+        return ++edge < end;
+    }
+
+    @Override
+    public int target() {
+        return graph.target(edge);
+    }
+
+    @Override
+    public int weight() {
+        return graph.weight(edge);
+    }
+}
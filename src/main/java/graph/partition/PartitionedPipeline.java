@@ -0,0 +1,188 @@
+package graph.partition;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PathResult;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs SCC, condensation, topological order and shortest/longest paths separately on
+ * every weakly connected piece of a graph, on a work-stealing pool. Consecutive pieces
+ * are grouped into batches of at least batchWork nodes plus edges, so thousands of
+ * tiny pieces cost a handful of tasks while a large piece still gets one to itself.
+ * Batches are split recursively, and idle workers steal the halves that are left.
+ * Path sweeps only run on the piece holding the source; every other node is
+ * unreachable from it by construction.
+ */
+public class PartitionedPipeline {
+    public static final int DEFAULT_BATCH_WORK = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+    private final int batchWork;
+
+    public PartitionedPipeline(ForkJoinPool pool, Metrics metrics) {
+        this(pool, metrics, DEFAULT_BATCH_WORK);
+    }
+
+    public PartitionedPipeline(ForkJoinPool pool, Metrics metrics, int batchWork) {
+        if (batchWork < 1) {
+            throw new IllegalArgumentException("batchWork must be at least 1");
+        }
+        this.pool = pool;
+        this.metrics = metrics;
+        this.batchWork = batchWork;
+    }
+
+    public PartitionedResult solve(GraphView graph) {
+        WeakComponents pieces = WeakComponents.split(graph);
+        int count = pieces.getPieceCount();
+
+        // bounds[i] .. bounds[i + 1] - 1 are the pieces of batch i.
+        int[] bounds = new int[count + 1];
+        int batches = 0;
+        long work = 0;
+        for (int p = 0; p < count; p++) {
+            work += pieces.pieceSize(p) + pieces.pieceEdgeCount(p);
+            if (work >= batchWork || p == count - 1) {
+                bounds[++batches] = p + 1;
+                work = 0;
+            }
+        }
+
+        PieceResult[] results = new PieceResult[count];
+        if (batches > 0) {
+            pool.invoke(new BatchTask(pieces, bounds, 0, batches, results));
+        }
+        return stitch(pieces, results, batches);
+    }
+
+    @SuppressWarnings("serial")
+    private final class BatchTask extends RecursiveAction {
+        private final WeakComponents pieces;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+        private final PieceResult[] results;
+
+        BatchTask(WeakComponents pieces, int[] bounds, int from, int to, PieceResult[] results) {
+            this.pieces = pieces;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(pieces, bounds, from, mid, results),
+                        new BatchTask(pieces, bounds, mid, to, results));
+                return;
+            }
+            for (int p = bounds[from]; p < bounds[to]; p++) {
+                results[p] = solvePiece(pieces, p);
+            }
+        }
+    }
+
+    private static final class PieceResult {
+        int[] componentIds;
+        int componentCount;
+        int[] componentOrder;
+        int[] nodeOrder;
+        PathResult shortest;
+        PathResult longest;
+    }
+
+    private PieceResult solvePiece(WeakComponents pieces, int piece) {
+        PieceResult result = new PieceResult();
+        if (pieces.pieceSize(piece) == 1 && !pieces.containsSource(piece)) {
+            // An isolated node (possibly with self-loops) is its own component.
+            result.componentIds = new int[1];
+            result.componentCount = 1;
+            result.componentOrder = new int[1];
+            result.nodeOrder = new int[1];
+            return result;
+        }
+
+        CsrGraph local = pieces.extract(piece);
+        IterativeSCC scc = new IterativeSCC(local, metrics);
+        TopologicalSort topo = new TopologicalSort(metrics);
+        result.componentOrder = topo.kahnTopoSort(scc.buildWeightedCondensation().unweightedGraph());
+        result.componentIds = scc.getComponentIds();
+        result.componentCount = scc.getComponentCount();
+        result.nodeOrder = topo.getOriginalNodeOrder(scc.getComponentOffsets(), scc.getComponentMembers(),
+                result.componentOrder);
+
+        if (pieces.containsSource(piece)) {
+            DAGShortestPath sp = new DAGShortestPath(metrics);
+            result.shortest = sp.shortestPathTree(local, result.nodeOrder);
+            result.longest = sp.longestPathTree(local, result.nodeOrder);
+        }
+        return result;
+    }
+
+    private static PartitionedResult stitch(WeakComponents pieces, PieceResult[] results, int batches) {
+        GraphView graph = pieces.getGraph();
+        int n = graph.nodeCount();
+        int[] componentIds = new int[n];
+        int[] nodeOrder = new int[n];
+        int componentCount = 0;
+        for (PieceResult result : results) {
+            componentCount += result.componentCount;
+        }
+        int[] componentOrder = new int[componentCount];
+
+        int base = 0;
+        int orderSize = 0;
+        int nodeSize = 0;
+        PathResult shortest = unreachable(n, graph.getSource(), Integer.MAX_VALUE);
+        PathResult longest = unreachable(n, graph.getSource(), Integer.MIN_VALUE);
+        for (int p = 0; p < results.length; p++) {
+            PieceResult result = results[p];
+            for (int local = 0; local < result.componentIds.length; local++) {
+                componentIds[pieces.globalId(p, local)] = base + result.componentIds[local];
+            }
+            for (int c : result.componentOrder) {
+                componentOrder[orderSize++] = base + c;
+            }
+            for (int local : result.nodeOrder) {
+                nodeOrder[nodeSize++] = pieces.globalId(p, local);
+            }
+            if (result.shortest != null) {
+                copyBack(pieces, p, result.shortest, shortest);
+                copyBack(pieces, p, result.longest, longest);
+            }
+            base += result.componentCount;
+        }
+        return new PartitionedResult(results.length, batches, componentIds, componentCount,
+                componentOrder, nodeOrder, shortest, longest);
+    }
+
+    private static PathResult unreachable(int n, int source, int unreachable) {
+        int[] dist = new int[n];
+        int[] predecessor = new int[n];
+        Arrays.fill(dist, unreachable);
+        Arrays.fill(predecessor, -1);
+        return new PathResult(dist, predecessor, source, unreachable);
+    }
+
+    private static void copyBack(WeakComponents pieces, int piece, PathResult local, PathResult global) {
+        int[] dist = global.getDistances();
+        int[] predecessor = global.getPredecessors();
+        int[] localPredecessor = local.getPredecessors();
+        for (int v = 0; v < pieces.pieceSize(piece); v++) {
+            int g = pieces.globalId(piece, v);
+            dist[g] = local.distanceTo(v);
+            predecessor[g] = localPredecessor[v] < 0 ? -1 : pieces.globalId(piece, localPredecessor[v]);
+        }
+    }
+}
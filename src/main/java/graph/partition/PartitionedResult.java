@@ -0,0 +1,64 @@
+package graph.partition;
+
+import graph.dagsp.PathResult;
+
+/**
+ * Pipeline results of all weakly connected pieces stitched back into global ids.
+ * Components are numbered piece by piece, and the component and node orders are the
+ * per-piece orders concatenated, which is a valid topological order because no edge
+ * crosses pieces.
+ */
+public final class PartitionedResult {
+    private final int pieceCount;
+    private final int batchCount;
+    private final int[] componentIds;
+    private final int componentCount;
+    private final int[] componentOrder;
+    private final int[] nodeOrder;
+    private final PathResult shortest;
+    private final PathResult longest;
+
+    PartitionedResult(int pieceCount, int batchCount, int[] componentIds, int componentCount,
+                      int[] componentOrder, int[] nodeOrder, PathResult shortest, PathResult longest) {
+        this.pieceCount = pieceCount;
+        this.batchCount = batchCount;
+        this.componentIds = componentIds;
+        this.componentCount = componentCount;
+        this.componentOrder = componentOrder;
+        this.nodeOrder = nodeOrder;
+        this.shortest = shortest;
+        this.longest = longest;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    public int[] getComponentIds() {
+        return componentIds;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int[] getComponentOrder() {
+        return componentOrder;
+    }
+
+    public int[] getNodeOrder() {
+        return nodeOrder;
+    }
+
+    public PathResult getShortest() {
+        return shortest;
+    }
+
+    public PathResult getLongest() {
+        return longest;
+    }
+}
@@ -0,0 +1,161 @@
+package graph.partition;
+
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * Weakly connected pieces of a directed graph, found with a union-find over two int
+ * arrays (union by size, path halving). Nodes of each piece are listed in increasing
+ * global id and renumbered 0 .. size - 1, so a piece can be extracted as a compact
+ * CSR graph and its results mapped back with one array lookup per node.
+ */
+public final class WeakComponents {
+    private final GraphView graph;
+    private final int pieceCount;
+    private final int[] pieceOf;
+    private final int[] localId;
+    private final int[] pieceOffsets;
+    private final int[] pieceMembers;
+    private final int[] pieceEdges;
+
+    private WeakComponents(GraphView graph, int pieceCount, int[] pieceOf, int[] localId,
+                           int[] pieceOffsets, int[] pieceMembers, int[] pieceEdges) {
+        this.graph = graph;
+        this.pieceCount = pieceCount;
+        this.pieceOf = pieceOf;
+        this.localId = localId;
+        this.pieceOffsets = pieceOffsets;
+        this.pieceMembers = pieceMembers;
+        this.pieceEdges = pieceEdges;
+    }
+
+    public static WeakComponents split(GraphView graph) {
+        int n = graph.nodeCount();
+        int[] parent = new int[n];
+        int[] size = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            size[v] = 1;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int a = find(parent, u);
+                int b = find(parent, graph.target(e));
+                if (a == b) {
+                    continue;
+                }
+                if (size[a] < size[b]) {
+                    int swap = a;
+                    a = b;
+                    b = swap;
+                }
+                parent[b] = a;
+                size[a] += size[b];
+            }
+        }
+
+        // Pieces are numbered by their smallest node. A root's size is no longer needed, so the
+        // first visit overwrites it with -(piece) - 1; sizes are positive, so negative means numbered.
+        int[] pieceOf = new int[n];
+        int[] counts = new int[n + 1];
+        int pieceCount = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            if (size[root] > 0) {
+                size[root] = -(pieceCount++) - 1;
+            }
+            int piece = -size[root] - 1;
+            pieceOf[v] = piece;
+            counts[piece + 1]++;
+        }
+
+        int[] pieceOffsets = Arrays.copyOf(counts, pieceCount + 1);
+        for (int p = 0; p < pieceCount; p++) {
+            pieceOffsets[p + 1] += pieceOffsets[p];
+        }
+        int[] pieceMembers = new int[n];
+        int[] localId = new int[n];
+        int[] pieceEdges = new int[pieceCount];
+        int[] cursor = Arrays.copyOf(pieceOffsets, pieceCount);
+        for (int v = 0; v < n; v++) {
+            int piece = pieceOf[v];
+            localId[v] = cursor[piece] - pieceOffsets[piece];
+            pieceMembers[cursor[piece]++] = v;
+            pieceEdges[piece] += graph.outDegree(v);
+        }
+        return new WeakComponents(graph, pieceCount, pieceOf, localId, pieceOffsets, pieceMembers, pieceEdges);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * The piece as a graph over local ids. Its source is the local id of the global
+     * source if the piece contains it, and local node 0 otherwise.
+     */
+    public CsrGraph extract(int piece) {
+        int first = pieceOffsets[piece];
+        int size = pieceOffsets[piece + 1] - first;
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[pieceEdges[piece]];
+        int[] weights = new int[pieceEdges[piece]];
+        int slot = 0;
+        for (int i = 0; i < size; i++) {
+            int u = pieceMembers[first + i];
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++, slot++) {
+                targets[slot] = localId[graph.target(e)];
+                weights[slot] = graph.weight(e);
+            }
+            offsets[i + 1] = slot;
+        }
+        int source = graph.getSource();
+        return new CsrGraph(size, containsSource(piece) ? localId[source] : 0, offsets, targets, weights);
+    }
+
+    public boolean containsSource(int piece) {
+        int source = graph.getSource();
+        return source >= 0 && source < pieceOf.length && pieceOf[source] == piece;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public int pieceOf(int v) {
+        return pieceOf[v];
+    }
+
+    public int localId(int v) {
+        return localId[v];
+    }
+
+    public int globalId(int piece, int local) {
+        return pieceMembers[pieceOffsets[piece] + local];
+    }
+
+    public int pieceSize(int piece) {
+        return pieceOffsets[piece + 1] - pieceOffsets[piece];
+    }
+
+    public int pieceEdgeCount(int piece) {
+        return pieceEdges[piece];
+    }
+
+    public int getLargestPieceSize() {
+        int largest = 0;
+        for (int p = 0; p < pieceCount; p++) {
+            largest = Math.max(largest, pieceSize(p));
+        }
+        return largest;
+    }
+
+    public GraphView getGraph() {
+        return graph;
+    }
+}
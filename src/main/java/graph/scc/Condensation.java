@@ -0,0 +1,57 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+
+/**
+ * DAG of strongly connected components with one edge per connected component pair.
+ * Parallel edges between two components are merged into their minimum and maximum
+ * weight, so shortest queries read the min view and longest/critical queries the max view.
+ */
+public class Condensation {
+    private final int[] componentId;
+    private final int componentCount;
+    private final int source;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] minWeights;
+    private final int[] maxWeights;
+
+    Condensation(int[] componentId, int componentCount, int source,
+                 int[] offsets, int[] targets, int[] minWeights, int[] maxWeights) {
+        this.componentId = componentId;
+        this.componentCount = componentCount;
+        this.source = source;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.minWeights = minWeights;
+        this.maxWeights = maxWeights;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public int[] getComponentIds() {
+        return componentId;
+    }
+
+    public int componentOf(int node) {
+        return componentId[node];
+    }
+
+    public CsrGraph shortestGraph() {
+        return new CsrGraph(componentCount, source, offsets, targets, minWeights);
+    }
+
+    public CsrGraph longestGraph() {
+        return new CsrGraph(componentCount, source, offsets, targets, maxWeights);
+    }
+
+    public CsrGraph unweightedGraph() {
+        return new CsrGraph(componentCount, source, offsets, targets, null);
+    }
+}
@@ -0,0 +1,90 @@
+package graph.scc;
+
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * Builds the condensation in O(V + E). Nodes are bucketed by component, and while one
+ * component's out-edges are scanned, a stamp array remembers which target components
+ * it already has and at which slot, so duplicates are merged in O(1) each.
+ */
+public final class CondensationBuilder {
+
+    private CondensationBuilder() {
+    }
+
+    public static Condensation build(GraphView graph, int[] componentId, int componentCount) {
+        int n = graph.nodeCount();
+
+        // Members of each component, in increasing node order.
+        int[] memberStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            memberStart[componentId[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        int[] cursor = Arrays.copyOf(memberStart, componentCount);
+        int[] members = new int[n];
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentId[v]]++] = v;
+        }
+
+        int[] stamp = new int[componentCount];
+        Arrays.fill(stamp, -1);
+        GraphView.EdgeCursor edges = graph.edges();
+
+        // Pass 1: distinct target components per component.
+        int[] offsets = new int[componentCount + 1];
+        for (int c = 0; c < componentCount; c++) {
+            int distinct = 0;
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                edges.reset(members[i]);
+                while (edges.next()) {
+                    int cv = componentId[edges.target()];
+                    if (cv != c && stamp[cv] != c) {
+                        stamp[cv] = c;
+                        distinct++;
+                    }
+                }
+            }
+            offsets[c + 1] = offsets[c] + distinct;
+        }
+
+        // Pass 2: fill targets and fold weights; slot[cv] is valid while stamp[cv] == c.
+        int m = offsets[componentCount];
+        int[] targets = new int[m];
+        int[] minWeights = new int[m];
+        int[] maxWeights = new int[m];
+        int[] slot = new int[componentCount];
+        Arrays.fill(stamp, -1);
+        for (int c = 0; c < componentCount; c++) {
+            int next = offsets[c];
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                edges.reset(members[i]);
+                while (edges.next()) {
+                    int cv = componentId[edges.target()];
+                    if (cv == c) {
+                        continue;
+                    }
+                    int w = edges.weight();
+                    if (stamp[cv] != c) {
+                        stamp[cv] = c;
+                        slot[cv] = next;
+                        targets[next] = cv;
+                        minWeights[next] = w;
+                        maxWeights[next] = w;
+                        next++;
+                    } else {
+                        int s = slot[cv];
+                        if (w < minWeights[s]) minWeights[s] = w;
+                        if (w > maxWeights[s]) maxWeights[s] = w;
+                    }
+                }
+            }
+        }
+
+        int source = n == 0 ? 0 : componentId[graph.getSource()];
+        return new Condensation(componentId, componentCount, source, offsets, targets, minWeights, maxWeights);
+    }
+}
@@ -0,0 +1,295 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.jfr.CondensationEvent;
+import graph.jfr.SccEvent;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import java.util.*;
+
+/**
+ * Tarjan's algorithm without recursion. The DFS call stack is kept in primitive
+ * arrays, so deep dependency chains cannot overflow the thread stack and no Integer
+ * is boxed while searching. Each frame resumes at an edge slot of the graph. On a
+ * view with sequentialEdges(), such as CompressedGraph, a node's targets are instead
+ * read in one run through its edge cursor onto a pending stack, and the frame walks
+ * its own stretch of that stack, so every list is decoded once however the search
+ * interleaves nodes. That stack holds the out-edges of the nodes on the call stack.
+ */
+public class IterativeSCC implements SCCFinder {
+    private int n;
+    private GraphView graph;
+    private Metrics metrics;
+
+    private int[] indices;
+    private int[] lowlinks;
+    private int[] edgeCursor;
+    private GraphView.EdgeCursor listCursor;
+    private int[] pending;
+    private int[] callStack;
+    private int[] tarjanStack;
+    private boolean[] onStack;
+
+    private int[] componentId;
+    private int[] componentStart;
+    private int[] componentMembers;
+    private int componentCount = -1;
+    private List<List<Integer>> components;
+
+    public IterativeSCC(int n, List<List<Integer>> graph, Metrics metrics) {
+        this(CsrGraph.fromAdjacency(graph), metrics);
+    }
+
+    public IterativeSCC(GraphView graph, Metrics metrics) {
+        this.n = graph.nodeCount();
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<List<Integer>> findSCCs() {
+        compute();
+        if (components == null) {
+            components = new ArrayList<>(componentCount);
+            for (int c = 0; c < componentCount; c++) {
+                List<Integer> component = new ArrayList<>(componentStart[c + 1] - componentStart[c]);
+                for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                    component.add(componentMembers[i]);
+                }
+                components.add(component);
+            }
+        }
+        return components;
+    }
+
+    public int compute() {
+        if (componentCount >= 0) {
+            return componentCount;
+        }
+        SccEvent event = new SccEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        indices = new int[n];
+        lowlinks = new int[n];
+        edgeCursor = new int[n];
+        if (graph.sequentialEdges()) {
+            listCursor = graph.edges();
+            pending = new int[16];
+        }
+        callStack = new int[n];
+        tarjanStack = new int[n];
+        onStack = new boolean[n];
+        componentId = new int[n];
+        componentMembers = new int[n];
+        int[] starts = new int[16];
+        Arrays.fill(indices, -1);
+
+        int index = 0;
+        int pendingTop = 0;
+        int tarjanTop = 0;
+        int emitted = 0;
+        int count = 0;
+        long visits = 0;
+        long edges = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (indices[root] != -1) {
+                continue;
+            }
+
+            int callTop = 0;
+            callStack[callTop++] = root;
+            pendingTop = enter(root, pendingTop);
+            indices[root] = index;
+            lowlinks[root] = index;
+            index++;
+            tarjanStack[tarjanTop++] = root;
+            onStack[root] = true;
+            visits++;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+
+                // Children have popped their targets, so v's stretch of pending ends at the top.
+                int end = listCursor == null ? graph.edgeEnd(v) : pendingTop;
+                if (edgeCursor[v] < end) {
+                    int w = listCursor == null ? graph.target(edgeCursor[v]++) : pending[edgeCursor[v]++];
+                    edges++;
+                    if (indices[w] == -1) {
+                        indices[w] = index;
+                        lowlinks[w] = index;
+                        index++;
+                        tarjanStack[tarjanTop++] = w;
+                        onStack[w] = true;
+                        visits++;
+                        pendingTop = enter(w, pendingTop);
+                        callStack[callTop++] = w;
+                    } else if (onStack[w] && indices[w] < lowlinks[v]) {
+                        lowlinks[v] = indices[w];
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (listCursor != null) {
+                    pendingTop -= graph.outDegree(v);
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    if (lowlinks[v] < lowlinks[parent]) {
+                        lowlinks[parent] = lowlinks[v];
+                    }
+                }
+
+                if (lowlinks[v] == indices[v]) {
+                    if (count + 1 >= starts.length) {
+                        starts = Arrays.copyOf(starts, starts.length * 2);
+                    }
+                    starts[count] = emitted;
+                    int w;
+                    do {
+                        w = tarjanStack[--tarjanTop];
+                        onStack[w] = false;
+                        componentId[w] = count;
+                        componentMembers[emitted++] = w;
+                    } while (w != v);
+                    count++;
+                }
+            }
+        }
+
+        starts[count] = emitted;
+        componentStart = Arrays.copyOf(starts, count + 1);
+        componentCount = count;
+
+        // Only the outputs survive the search.
+        indices = null;
+        lowlinks = null;
+        edgeCursor = null;
+        listCursor = null;
+        pending = null;
+        callStack = null;
+        tarjanStack = null;
+        onStack = null;
+
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, visits);
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, edges);
+        metrics.record(Metrics.Phase.SCC, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.algorithm = "iterative-tarjan";
+            event.components = componentCount;
+            event.dfsVisits = visits;
+            event.dfsEdges = edges;
+            event.commit();
+        }
+        return count;
+    }
+
+    // Points u's frame at its first edge and returns the new top of the pending stack.
+    private int enter(int u, int top) {
+        if (listCursor == null) {
+            edgeCursor[u] = graph.edgeStart(u);
+            return top;
+        }
+        edgeCursor[u] = top;
+        int degree = graph.outDegree(u);
+        if (top + degree > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(top + degree, pending.length * 2));
+        }
+        listCursor.reset(u);
+        while (listCursor.next()) {
+            pending[top++] = listCursor.target();
+        }
+        return top;
+    }
+
+    public int getComponentCount() {
+        return compute();
+    }
+
+    public int[] getComponentIds() {
+        compute();
+        return componentId;
+    }
+
+    @Override
+    public int[] getComponentOffsets() {
+        compute();
+        return componentStart;
+    }
+
+    @Override
+    public int[] getComponentMembers() {
+        compute();
+        return componentMembers;
+    }
+
+    public Condensation buildWeightedCondensation() {
+        compute();
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Condensation condensation = CondensationBuilder.build(graph, componentId, componentCount);
+        metrics.record(Metrics.Phase.CONDENSATION, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.components = componentCount;
+            event.condensationEdges = condensation.getEdgeCount();
+            event.commit();
+        }
+        return condensation;
+    }
+
+    @Override
+    public List<List<Integer>> buildCondensationGraph() {
+        compute();
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<List<Integer>> condensation = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            condensation.add(new ArrayList<>());
+        }
+
+        int[] lastSeen = new int[componentCount];
+        Arrays.fill(lastSeen, -1);
+        GraphView.EdgeCursor edges = graph.edges();
+        for (int c = 0; c < componentCount; c++) {
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                edges.reset(componentMembers[i]);
+                while (edges.next()) {
+                    int compV = componentId[edges.target()];
+                    if (compV != c && lastSeen[compV] != c) {
+                        lastSeen[compV] = c;
+                        condensation.get(c).add(compV);
+                    }
+                }
+            }
+        }
+
+        metrics.record(Metrics.Phase.CONDENSATION, System.nanoTime() - start);
+        commitCondensation(event, condensation);
+        return condensation;
+    }
+
+    private void commitCondensation(CondensationEvent event, List<List<Integer>> condensation) {
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.components = condensation.size();
+            event.condensationEdges = condensation.stream().mapToInt(List::size).sum();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void printComponents() {
+        List<List<Integer>> list = findSCCs();
+        System.out.println("Strongly Connected Components (" + list.size() + " components):");
+        for (int i = 0; i < list.size(); i++) {
+            Collections.sort(list.get(i));
+            System.out.println("  Component " + i + " (size " + list.get(i).size() + "): " + list.get(i));
+        }
+    }
+}
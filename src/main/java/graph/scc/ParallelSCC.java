@@ -0,0 +1,483 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.jfr.CondensationEvent;
+import graph.jfr.SccEvent;
+import graph.model.GraphView;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-core SCC decomposition. Nodes that cannot be on a cycle are trimmed first,
+ * then forward/backward reachability from a pivot splits the rest into the pivot's
+ * SCC and three independent subsets, which are decomposed concurrently on a
+ * ForkJoinPool. Subsets below the sequential threshold fall back to Tarjan
+ * restricted to the subset.
+ */
+public class ParallelSCC implements SCCFinder {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int MAX_SPLIT_DEPTH = 64;
+    private static final int TRIMMED = -1;
+
+    private GraphView graph;
+    private Metrics metrics;
+    private int parallelism;
+    private int n;
+
+    private int[] reverseOffsets;
+    private int[] reverseSources;
+    private int[] color;
+    private int[] componentId;
+    private int[] indices;
+    private int[] lowlinks;
+    private int[] edgeCursor;
+    private boolean[] onStack;
+    private AtomicInteger nextColor;
+    private AtomicInteger nextComponent;
+    private AtomicLong visits;
+    private AtomicLong edges;
+
+    private int componentCount = -1;
+    private int[] componentStart;
+    private int[] componentMembers;
+    private List<List<Integer>> components;
+
+    public ParallelSCC(GraphView graph, Metrics metrics, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.graph = graph;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+        this.n = graph.nodeCount();
+    }
+
+    @Override
+    public List<List<Integer>> findSCCs() {
+        compute();
+        if (components == null) {
+            components = new ArrayList<>(componentCount);
+            for (int c = 0; c < componentCount; c++) {
+                List<Integer> component = new ArrayList<>(componentStart[c + 1] - componentStart[c]);
+                for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                    component.add(componentMembers[i]);
+                }
+                components.add(component);
+            }
+        }
+        return components;
+    }
+
+    public int compute() {
+        if (componentCount >= 0) {
+            return componentCount;
+        }
+        SccEvent event = new SccEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        componentId = new int[n];
+        color = new int[n];
+        nextColor = new AtomicInteger(1);
+        nextComponent = new AtomicInteger();
+        visits = new AtomicLong();
+        edges = new AtomicLong();
+
+        buildReverse();
+        int[] remaining = trim();
+
+        if (remaining.length > 0) {
+            indices = new int[n];
+            lowlinks = new int[n];
+            edgeCursor = new int[n];
+            onStack = new boolean[n];
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new Split(remaining, 0, 0));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        componentCount = nextComponent.get();
+        groupMembers();
+
+        reverseOffsets = null;
+        reverseSources = null;
+        color = null;
+        indices = null;
+        lowlinks = null;
+        edgeCursor = null;
+        onStack = null;
+
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, visits.get());
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, edges.get());
+        metrics.record(Metrics.Phase.SCC, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.algorithm = "fw-bw";
+            event.components = componentCount;
+            event.dfsVisits = visits.get();
+            event.dfsEdges = edges.get();
+            event.commit();
+        }
+        return componentCount;
+    }
+
+    public int getComponentCount() {
+        return compute();
+    }
+
+    public int[] getComponentIds() {
+        compute();
+        return componentId;
+    }
+
+    @Override
+    public int[] getComponentOffsets() {
+        compute();
+        return componentStart;
+    }
+
+    @Override
+    public int[] getComponentMembers() {
+        compute();
+        return componentMembers;
+    }
+
+    private void buildReverse() {
+        int m = graph.edgeCount();
+        reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reverseOffsets[graph.target(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] cursor = Arrays.copyOf(reverseOffsets, n);
+        reverseSources = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                reverseSources[cursor[graph.target(e)]++] = u;
+            }
+        }
+    }
+
+    // Repeatedly peels nodes with no live predecessor or no live successor; each one is its own SCC.
+    private int[] trim() {
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = reverseOffsets[v + 1] - reverseOffsets[v];
+            outDegree[v] = graph.outDegree(v);
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                color[v] = TRIMMED;
+                queue[tail++] = v;
+            }
+        }
+
+        long trimEdges = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            componentId[v] = nextComponent.getAndIncrement();
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int w = graph.target(e);
+                trimEdges++;
+                if (color[w] != TRIMMED && --inDegree[w] == 0) {
+                    color[w] = TRIMMED;
+                    queue[tail++] = w;
+                }
+            }
+            for (int e = reverseOffsets[v]; e < reverseOffsets[v + 1]; e++) {
+                int w = reverseSources[e];
+                trimEdges++;
+                if (color[w] != TRIMMED && --outDegree[w] == 0) {
+                    color[w] = TRIMMED;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        visits.addAndGet(tail);
+        edges.addAndGet(trimEdges);
+
+        int[] remaining = new int[n - tail];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (color[v] != TRIMMED) {
+                remaining[size++] = v;
+            }
+        }
+        return remaining;
+    }
+
+    private void groupMembers() {
+        componentStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            componentStart[componentId[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentStart[c + 1] += componentStart[c];
+        }
+        int[] cursor = Arrays.copyOf(componentStart, componentCount);
+        componentMembers = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentMembers[cursor[componentId[v]]++] = v;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class Split extends RecursiveAction {
+        private final int[] nodes;
+        private final int nodeColor;
+        private final int depth;
+
+        Split(int[] nodes, int nodeColor, int depth) {
+            this.nodes = nodes;
+            this.nodeColor = nodeColor;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (nodes.length <= SEQUENTIAL_THRESHOLD || depth >= MAX_SPLIT_DEPTH) {
+                restrictedTarjan(nodes, nodeColor);
+                return;
+            }
+
+            int pivot = nodes[0];
+            int forwardColor = nextColor.getAndIncrement();
+            int backwardColor = nextColor.getAndIncrement();
+            int restColor = nextColor.getAndIncrement();
+            int sccId = nextComponent.getAndIncrement();
+            int[] queue = new int[nodes.length];
+            long localVisits = 0;
+            long localEdges = 0;
+
+            // Forward closure of the pivot inside this subset.
+            int tail = 0;
+            color[pivot] = forwardColor;
+            queue[tail++] = pivot;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int w = graph.target(e);
+                    localEdges++;
+                    if (color[w] == nodeColor) {
+                        color[w] = forwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            localVisits += tail;
+
+            // Backward closure: forward-reached nodes form the pivot SCC, the others are backward-only.
+            tail = 0;
+            color[pivot] = TRIMMED;
+            componentId[pivot] = sccId;
+            queue[tail++] = pivot;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int e = reverseOffsets[v]; e < reverseOffsets[v + 1]; e++) {
+                    int w = reverseSources[e];
+                    localEdges++;
+                    int c = color[w];
+                    if (c == forwardColor) {
+                        color[w] = TRIMMED;
+                        componentId[w] = sccId;
+                        queue[tail++] = w;
+                    } else if (c == nodeColor) {
+                        color[w] = backwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            localVisits += tail;
+            visits.addAndGet(localVisits);
+            edges.addAndGet(localEdges);
+
+            int forwardSize = 0;
+            int backwardSize = 0;
+            int restSize = 0;
+            for (int v : nodes) {
+                int c = color[v];
+                if (c == forwardColor) {
+                    forwardSize++;
+                } else if (c == backwardColor) {
+                    backwardSize++;
+                } else if (c == nodeColor) {
+                    color[v] = restColor;
+                    restSize++;
+                }
+            }
+            int[] forward = new int[forwardSize];
+            int[] backward = new int[backwardSize];
+            int[] rest = new int[restSize];
+            forwardSize = backwardSize = restSize = 0;
+            for (int v : nodes) {
+                int c = color[v];
+                if (c == forwardColor) {
+                    forward[forwardSize++] = v;
+                } else if (c == backwardColor) {
+                    backward[backwardSize++] = v;
+                } else if (c == restColor) {
+                    rest[restSize++] = v;
+                }
+            }
+
+            List<Split> subtasks = new ArrayList<>(3);
+            if (forward.length > 0) subtasks.add(new Split(forward, forwardColor, depth + 1));
+            if (backward.length > 0) subtasks.add(new Split(backward, backwardColor, depth + 1));
+            if (rest.length > 0) subtasks.add(new Split(rest, restColor, depth + 1));
+            invokeAll(subtasks);
+        }
+    }
+
+    // Iterative Tarjan over the subgraph induced by one color. Subsets are disjoint,
+    // so concurrent calls never touch the same slots of the shared per-node arrays.
+    private void restrictedTarjan(int[] nodes, int nodeColor) {
+        int[] callStack = new int[nodes.length];
+        int[] tarjanStack = new int[nodes.length];
+        for (int v : nodes) {
+            indices[v] = -1;
+        }
+
+        int index = 0;
+        int tarjanTop = 0;
+        long localEdges = 0;
+
+        for (int root : nodes) {
+            if (indices[root] != -1) {
+                continue;
+            }
+
+            int callTop = 0;
+            callStack[callTop++] = root;
+            edgeCursor[root] = graph.edgeStart(root);
+            indices[root] = index;
+            lowlinks[root] = index;
+            index++;
+            tarjanStack[tarjanTop++] = root;
+            onStack[root] = true;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+
+                if (edgeCursor[v] < graph.edgeEnd(v)) {
+                    int w = graph.target(edgeCursor[v]++);
+                    localEdges++;
+                    if (color[w] != nodeColor) {
+                        continue;
+                    }
+                    if (indices[w] == -1) {
+                        edgeCursor[w] = graph.edgeStart(w);
+                        indices[w] = index;
+                        lowlinks[w] = index;
+                        index++;
+                        tarjanStack[tarjanTop++] = w;
+                        onStack[w] = true;
+                        callStack[callTop++] = w;
+                    } else if (onStack[w] && indices[w] < lowlinks[v]) {
+                        lowlinks[v] = indices[w];
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    if (lowlinks[v] < lowlinks[parent]) {
+                        lowlinks[parent] = lowlinks[v];
+                    }
+                }
+
+                if (lowlinks[v] == indices[v]) {
+                    int id = nextComponent.getAndIncrement();
+                    int w;
+                    do {
+                        w = tarjanStack[--tarjanTop];
+                        onStack[w] = false;
+                        componentId[w] = id;
+                    } while (w != v);
+                }
+            }
+        }
+
+        visits.addAndGet(nodes.length);
+        edges.addAndGet(localEdges);
+    }
+
+    public Condensation buildWeightedCondensation() {
+        compute();
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Condensation condensation = CondensationBuilder.build(graph, componentId, componentCount);
+        metrics.record(Metrics.Phase.CONDENSATION, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.components = componentCount;
+            event.condensationEdges = condensation.getEdgeCount();
+            event.commit();
+        }
+        return condensation;
+    }
+
+    @Override
+    public List<List<Integer>> buildCondensationGraph() {
+        compute();
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<List<Integer>> condensation = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            condensation.add(new ArrayList<>());
+        }
+
+        int[] lastSeen = new int[componentCount];
+        Arrays.fill(lastSeen, -1);
+        for (int c = 0; c < componentCount; c++) {
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                int u = componentMembers[i];
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int compV = componentId[graph.target(e)];
+                    if (compV != c && lastSeen[compV] != c) {
+                        lastSeen[compV] = c;
+                        condensation.get(c).add(compV);
+                    }
+                }
+            }
+        }
+
+        metrics.record(Metrics.Phase.CONDENSATION, System.nanoTime() - start);
+        commitCondensation(event, condensation);
+        return condensation;
+    }
+
+    private void commitCondensation(CondensationEvent event, List<List<Integer>> condensation) {
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.components = condensation.size();
+            event.condensationEdges = condensation.stream().mapToInt(List::size).sum();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void printComponents() {
+        List<List<Integer>> list = findSCCs();
+        System.out.println("Strongly Connected Components (" + list.size() + " components):");
+        for (int i = 0; i < list.size(); i++) {
+            Collections.sort(list.get(i));
+            System.out.println("  Component " + i + " (size " + list.get(i).size() + "): " + list.get(i));
+        }
+    }
+}
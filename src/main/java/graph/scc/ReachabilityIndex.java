@@ -0,0 +1,284 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers "does u reach v" from labels on the condensation DAG. Checks run from
+ * cheapest to most expensive:
+ *   same component                          -> true
+ *   topological position of u not before v  -> false
+ *   v in u's DFS spanning-tree interval     -> true
+ *   v's interval outside u's in either of two post-order labelings (GRAIL) -> false
+ *   otherwise the closure bitset when it fits the memory budget, or a DFS that
+ *   only descends into components whose labels still admit v.
+ * Each labeling is a few ints per component, so the index stays linear in size for
+ * millions of components; the quadratic closure is only built when it is small.
+ */
+public class ReachabilityIndex {
+    public static final long DEFAULT_CLOSURE_BUDGET = 16L << 20;
+
+    private final int[] componentId;
+    private final int componentCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] position;
+    private final int[] pre;
+    private final int[] post;
+    private final int[] low;
+    private final int[] post2;
+    private final int[] low2;
+    private final long[][] closure;
+    private final long buildTime;
+    private final ThreadLocal<int[][]> workspace;
+
+    private final LongAdder[] answeredBy = new LongAdder[6];
+
+    private ReachabilityIndex(int[] componentId, CsrGraph condensation, int[] order, long closureBudget, long start) {
+        this.componentId = componentId;
+        this.componentCount = condensation.nodeCount();
+        for (int i = 0; i < answeredBy.length; i++) {
+            answeredBy[i] = new LongAdder();
+        }
+        int k = componentCount;
+        this.offsets = new int[k + 1];
+        this.targets = new int[condensation.edgeCount()];
+        for (int c = 0; c < k; c++) {
+            offsets[c + 1] = condensation.edgeEnd(c);
+        }
+        for (int e = 0; e < targets.length; e++) {
+            targets[e] = condensation.target(e);
+        }
+
+        this.position = new int[k];
+        for (int i = 0; i < k; i++) {
+            position[order[i]] = i;
+        }
+        this.pre = new int[k];
+        this.post = new int[k];
+        this.low = new int[k];
+        this.post2 = new int[k];
+        this.low2 = new int[k];
+        label(order, false, pre, post, low);
+        label(order, true, null, post2, low2);
+
+        long rowBytes = 8L * ((k + 63) >>> 6);
+        this.closure = rowBytes * k <= closureBudget ? buildClosure(order) : null;
+        this.workspace = ThreadLocal.withInitial(() -> new int[][]{new int[k], new int[16], new int[1]});
+        this.buildTime = System.nanoTime() - start;
+    }
+
+    public static ReachabilityIndex build(GraphView graph, Metrics metrics) {
+        return build(graph, metrics, DEFAULT_CLOSURE_BUDGET);
+    }
+
+    public static ReachabilityIndex build(GraphView graph, Metrics metrics, long closureBudget) {
+        long start = System.nanoTime();
+        IterativeSCC scc = new IterativeSCC(graph, metrics);
+        Condensation condensation = scc.buildWeightedCondensation();
+        CsrGraph dag = condensation.unweightedGraph();
+        int[] order = new TopologicalSort(metrics).kahnTopoSort(dag);
+        return new ReachabilityIndex(scc.getComponentIds(), dag, order, closureBudget, start);
+    }
+
+    public static ReachabilityIndex build(int[] componentId, CsrGraph condensation, int[] topoOrder, long closureBudget) {
+        if (topoOrder.length != condensation.nodeCount()) {
+            throw new IllegalArgumentException("Topological order must list every component");
+        }
+        return new ReachabilityIndex(componentId, condensation, topoOrder, closureBudget, System.nanoTime());
+    }
+
+    // Iterative DFS from the roots in topological order; low is the smallest post number reachable.
+    private void label(int[] order, boolean reversed, int[] preOut, int[] postOut, int[] lowOut) {
+        int k = componentCount;
+        int[] cursor = new int[k];
+        Arrays.fill(cursor, -1);
+        int[] stack = new int[Math.max(1, k)];
+        int preCounter = 0;
+        int postCounter = 0;
+
+        for (int i = 0; i < k; i++) {
+            int root = order[reversed ? k - 1 - i : i];
+            if (cursor[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            cursor[root] = 0;
+            lowOut[root] = Integer.MAX_VALUE;
+            if (preOut != null) {
+                preOut[root] = preCounter++;
+            }
+
+            while (top > 0) {
+                int c = stack[top - 1];
+                int degree = offsets[c + 1] - offsets[c];
+                if (cursor[c] < degree) {
+                    int slot = cursor[c]++;
+                    int next = targets[reversed ? offsets[c + 1] - 1 - slot : offsets[c] + slot];
+                    if (cursor[next] == -1) {
+                        cursor[next] = 0;
+                        lowOut[next] = Integer.MAX_VALUE;
+                        if (preOut != null) {
+                            preOut[next] = preCounter++;
+                        }
+                        stack[top++] = next;
+                    } else {
+                        lowOut[c] = Math.min(lowOut[c], lowOut[next]);
+                    }
+                    continue;
+                }
+
+                postOut[c] = postCounter++;
+                lowOut[c] = Math.min(lowOut[c], postOut[c]);
+                top--;
+                if (top > 0) {
+                    int parent = stack[top - 1];
+                    lowOut[parent] = Math.min(lowOut[parent], lowOut[c]);
+                }
+            }
+        }
+    }
+
+    private long[][] buildClosure(int[] order) {
+        int words = (componentCount + 63) >>> 6;
+        long[][] rows = new long[componentCount][];
+        for (int i = componentCount - 1; i >= 0; i--) {
+            int c = order[i];
+            long[] row = new long[words];
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                int next = targets[e];
+                row[next >>> 6] |= 1L << next;
+                long[] nextRow = rows[next];
+                for (int w = 0; w < words; w++) {
+                    row[w] |= nextRow[w];
+                }
+            }
+            rows[c] = row;
+        }
+        return rows;
+    }
+
+    public boolean reaches(int u, int v) {
+        return componentReaches(componentId[u], componentId[v]);
+    }
+
+    public boolean componentReaches(int a, int b) {
+        if (a == b) {
+            answeredBy[0].increment();
+            return true;
+        }
+        if (position[a] >= position[b]) {
+            answeredBy[1].increment();
+            return false;
+        }
+        if (pre[a] <= pre[b] && post[b] <= post[a]) {
+            answeredBy[2].increment();
+            return true;
+        }
+        if (!contains(a, b)) {
+            answeredBy[3].increment();
+            return false;
+        }
+        if (closure != null) {
+            answeredBy[4].increment();
+            return (closure[a][b >>> 6] & (1L << b)) != 0;
+        }
+        answeredBy[5].increment();
+        return search(a, b);
+    }
+
+    private boolean contains(int a, int b) {
+        return low[a] <= low[b] && post[b] <= post[a] && low2[a] <= low2[b] && post2[b] <= post2[a];
+    }
+
+    private boolean search(int from, int to) {
+        int[][] buffers = workspace.get();
+        int[] seen = buffers[0];
+        int[] stack = buffers[1];
+        int epoch = ++buffers[2][0];
+        if (epoch == 0) {
+            Arrays.fill(seen, 0);
+            epoch = buffers[2][0] = 1;
+        }
+
+        int top = 0;
+        stack[top++] = from;
+        seen[from] = epoch;
+        while (top > 0) {
+            int c = stack[--top];
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                int next = targets[e];
+                if (next == to || (pre[next] <= pre[to] && post[to] <= post[next])) {
+                    return true;
+                }
+                if (seen[next] == epoch || position[next] >= position[to] || !contains(next, to)) {
+                    continue;
+                }
+                seen[next] = epoch;
+                if (top == stack.length) {
+                    stack = buffers[1] = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = next;
+            }
+        }
+        return false;
+    }
+
+    public void reaches(int[] from, int[] to, boolean[] result) {
+        if (from.length != to.length || result.length < from.length) {
+            throw new IllegalArgumentException("Query arrays must have matching lengths");
+        }
+        for (int i = 0; i < from.length; i++) {
+            result[i] = reaches(from[i], to[i]);
+        }
+    }
+
+    public boolean[] reaches(int[] from, int[] to) {
+        boolean[] result = new boolean[from.length];
+        reaches(from, to, result);
+        return result;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public boolean hasClosure() {
+        return closure != null;
+    }
+
+    public long getBuildTime() {
+        return buildTime;
+    }
+
+    public long getIndexBytes() {
+        long labels = 4L * (componentId.length + offsets.length + targets.length + 6L * componentCount);
+        long closureBytes = closure == null ? 0 : 8L * ((componentCount + 63) >>> 6) * componentCount;
+        return labels + closureBytes;
+    }
+
+    public double bytesPerNode() {
+        return componentId.length == 0 ? 0.0 : (double) getIndexBytes() / componentId.length;
+    }
+
+    public long[] getAnswerCounts() {
+        long[] counts = new long[answeredBy.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = answeredBy[i].sum();
+        }
+        return counts;
+    }
+
+    public String statsReport() {
+        return String.format("ReachabilityIndex[nodes=%d, components=%d, closure=%s, build=%.3f ms, "
+                        + "%.1f bytes/node, answered by: same=%d topo=%d tree=%d interval=%d closure=%d search=%d]",
+                componentId.length, componentCount, closure != null, buildTime / 1e6, bytesPerNode(),
+                answeredBy[0].sum(), answeredBy[1].sum(), answeredBy[2].sum(),
+                answeredBy[3].sum(), answeredBy[4].sum(), answeredBy[5].sum());
+    }
+}
@@ -1,22 +1,40 @@
 package graph.scc;
 
 import graph.Metrics;
+import graph.jfr.CondensationEvent;
+import graph.jfr.SccEvent;
+import graph.model.GraphView;
 import java.util.*;
 
-public class SCC {
+public class SCC implements SCCFinder {
     private int n;
     private List<List<Integer>> graph;
+    private GraphView view;
     private int index;
     private int[] indices;
     private int[] lowlinks;
     private boolean[] onStack;
     private Stack<Integer> stack;
     private List<List<Integer>> components;
+    private int[] componentStart;
+    private int[] componentMembers;
     private Metrics metrics;
+    private long visits;
+    private long edges;
 
     public SCC(int n, List<List<Integer>> graph, Metrics metrics) {
-        this.n = n;
+        this(n, metrics);
         this.graph = graph;
+    }
+
+    /** Reads out-edges straight from the view, with no boxed adjacency lists. */
+    public SCC(GraphView graph, Metrics metrics) {
+        this(graph.nodeCount(), metrics);
+        this.view = graph;
+    }
+
+    private SCC(int n, Metrics metrics) {
+        this.n = n;
         this.metrics = metrics;
         this.indices = new int[n];
         this.lowlinks = new int[n];
@@ -27,32 +45,50 @@ public class SCC {
         this.index = 0;
     }
 
+    @Override
     public List<List<Integer>> findSCCs() {
-        metrics.startTimer();
+        SccEvent event = new SccEvent();
+        event.begin();
+        long start = System.nanoTime();
+        visits = 0;
+        edges = 0;
         for (int i = 0; i < n; i++) {
             if (indices[i] == -1) {
                 strongConnect(i);
             }
         }
-        metrics.stopTimer();
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, visits);
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, edges);
+        metrics.record(Metrics.Phase.SCC, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, edges);
+            event.algorithm = "recursive-tarjan";
+            event.components = components.size();
+            event.dfsVisits = visits;
+            event.dfsEdges = edges;
+            event.commit();
+        }
         return components;
     }
 
     private void strongConnect(int v) {
-        metrics.dfsVisits++;
+        visits++;
         indices[v] = index;
         lowlinks[v] = index;
         index++;
         stack.push(v);
         onStack[v] = true;
 
-        for (int w : graph.get(v)) {
-            metrics.dfsEdges++;
-            if (indices[w] == -1) {
-                strongConnect(w);
-                lowlinks[v] = Math.min(lowlinks[v], lowlinks[w]);
-            } else if (onStack[w]) {
-                lowlinks[v] = Math.min(lowlinks[v], indices[w]);
+        if (view != null) {
+            // The recursion below moves any shared cursor, so each frame reads through its own.
+            GraphView.EdgeCursor edges = view.edges();
+            edges.reset(v);
+            while (edges.next()) {
+                visitEdge(v, edges.target());
+            }
+        } else {
+            for (int w : graph.get(v)) {
+                visitEdge(v, w);
             }
         }
 
@@ -68,7 +104,29 @@ public class SCC {
         }
     }
 
+    private void visitEdge(int v, int w) {
+        edges++;
+        if (indices[w] == -1) {
+            strongConnect(w);
+            lowlinks[v] = Math.min(lowlinks[v], lowlinks[w]);
+        } else if (onStack[w]) {
+            lowlinks[v] = Math.min(lowlinks[v], indices[w]);
+        }
+    }
+
+    private void linkComponents(int compU, int v, int[] componentId, int[] lastSeen, List<List<Integer>> condensation) {
+        int compV = componentId[v];
+        if (compU != compV && lastSeen[compV] != compU) {
+            lastSeen[compV] = compU;
+            condensation.get(compU).add(compV);
+        }
+    }
+
+    @Override
     public List<List<Integer>> buildCondensationGraph() {
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        long start = System.nanoTime();
         List<List<Integer>> condensation = new ArrayList<>();
         for (int i = 0; i < components.size(); i++) {
             condensation.add(new ArrayList<>());
@@ -81,19 +139,83 @@ public class SCC {
             }
         }
 
+        // Visit each component's nodes in increasing order so the lists come out as before,
+        // and dedupe with a stamp per target component instead of List.contains.
+        int[] memberStart = new int[components.size() + 1];
         for (int u = 0; u < n; u++) {
-            for (int v : graph.get(u)) {
-                int compU = componentId[u];
-                int compV = componentId[v];
-                if (compU != compV && !condensation.get(compU).contains(compV)) {
-                    condensation.get(compU).add(compV);
+            memberStart[componentId[u] + 1]++;
+        }
+        for (int i = 0; i < components.size(); i++) {
+            memberStart[i + 1] += memberStart[i];
+        }
+        int[] cursor = Arrays.copyOf(memberStart, components.size());
+        int[] members = new int[n];
+        for (int u = 0; u < n; u++) {
+            members[cursor[componentId[u]]++] = u;
+        }
+
+        int[] lastSeen = new int[components.size()];
+        Arrays.fill(lastSeen, -1);
+        GraphView.EdgeCursor edges = view != null ? view.edges() : null;
+        for (int compU = 0; compU < components.size(); compU++) {
+            for (int i = memberStart[compU]; i < memberStart[compU + 1]; i++) {
+                int u = members[i];
+                if (view != null) {
+                    edges.reset(u);
+                    while (edges.next()) {
+                        linkComponents(compU, edges.target(), componentId, lastSeen, condensation);
+                    }
+                } else {
+                    for (int v : graph.get(u)) {
+                        linkComponents(compU, v, componentId, lastSeen, condensation);
+                    }
                 }
             }
         }
 
+        metrics.record(Metrics.Phase.CONDENSATION, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            long edgeCount = view != null ? view.edgeCount() : graph.stream().mapToLong(List::size).sum();
+            event.graph(metrics.getGraphId(), n, edgeCount);
+            event.components = components.size();
+            event.condensationEdges = condensation.stream().mapToInt(List::size).sum();
+            event.commit();
+        }
         return condensation;
     }
 
+    @Override
+    public int[] getComponentOffsets() {
+        flattenComponents();
+        return componentStart;
+    }
+
+    @Override
+    public int[] getComponentMembers() {
+        flattenComponents();
+        return componentMembers;
+    }
+
+    // Copies the component lists once, in their current order, for the primitive overloads downstream.
+    private void flattenComponents() {
+        if (componentStart != null) {
+            return;
+        }
+        if (components.isEmpty() && n > 0) {
+            findSCCs();
+        }
+        componentStart = new int[components.size() + 1];
+        componentMembers = new int[n];
+        int size = 0;
+        for (int c = 0; c < components.size(); c++) {
+            for (int node : components.get(c)) {
+                componentMembers[size++] = node;
+            }
+            componentStart[c + 1] = size;
+        }
+    }
+
+    @Override
     public void printComponents() {
         System.out.println("Strongly Connected Components (" + components.size() + " components):");
         for (int i = 0; i < components.size(); i++) {
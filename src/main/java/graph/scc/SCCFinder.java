@@ -0,0 +1,25 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.model.GraphView;
+import java.util.List;
+
+public interface SCCFinder {
+    List<List<Integer>> findSCCs();
+
+    List<List<Integer>> buildCondensationGraph();
+
+    void printComponents();
+
+    /** Component c's members are getComponentMembers()[offsets[c] .. offsets[c + 1]). */
+    int[] getComponentOffsets();
+
+    int[] getComponentMembers();
+
+    static SCCFinder forParallelism(GraphView graph, Metrics metrics, int parallelism) {
+        if (parallelism <= 1) {
+            return new IterativeSCC(graph, metrics);
+        }
+        return new ParallelSCC(graph, metrics, parallelism);
+    }
+}
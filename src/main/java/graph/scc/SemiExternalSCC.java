@@ -0,0 +1,241 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.io.EdgeFile;
+import graph.jfr.SccEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Strongly connected components of a graph snapshot whose edges stay on disk. Only
+ * three ints per node are held (component id, color, mark); edges are streamed in
+ * sequential passes that alternate direction. Each round
+ *   trims nodes with no remaining in- or out-neighbours, which are components by
+ *   themselves (skipped in the first round),
+ *   colors every remaining node with the largest id that reaches it (forward passes),
+ *   marks each color's root, the node whose id is the color, and spreads the mark
+ *   backwards along edges inside the color (backward passes),
+ *   and takes every marked node as the component of its root.
+ * Coloring alone removes only one component per color, so a DAG whose ids fall along
+ * its edges would take a round per node; trimming peels such a chain in one pass per
+ * direction change instead. Inputs with many nested cycles can still need several
+ * rounds.
+ */
+public class SemiExternalSCC {
+    public static final int STATE_BYTES_PER_NODE = 12;
+
+    private final Path file;
+    private final long memoryBudget;
+    private final Metrics metrics;
+
+    private int n;
+    private int[] componentId;
+    private int[] color;
+    private int[] mark;
+    private boolean changed;
+    private int nextId;
+    private int remaining;
+    private int componentCount = -1;
+    private int rounds;
+    private int passes;
+    private long bytesRead;
+    private long bytesPerPass;
+    private int bufferBytes;
+
+    public SemiExternalSCC(Path file, long memoryBudget, Metrics metrics) {
+        this.file = file;
+        this.memoryBudget = memoryBudget;
+        this.metrics = metrics;
+    }
+
+    public int compute() throws IOException {
+        if (componentCount >= 0) {
+            return componentCount;
+        }
+        SccEvent event = new SccEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        long edgesScanned;
+        try (EdgeFile edges = EdgeFile.open(file, memoryBudget, STATE_BYTES_PER_NODE)) {
+            n = edges.nodeCount();
+            componentId = new int[n];
+            color = new int[n];
+            mark = new int[n];
+            Arrays.fill(componentId, -1);
+
+            remaining = n;
+            boolean reverse = false;
+            while (remaining > 0) {
+                rounds++;
+                // The first round colors straight away, so cyclic inputs pay no trimming passes.
+                if (rounds > 1) {
+                    reverse = trim(edges, reverse);
+                    if (remaining == 0) {
+                        break;
+                    }
+                }
+                for (int v = 0; v < n; v++) {
+                    if (componentId[v] < 0) {
+                        color[v] = v;
+                    }
+                }
+                do {
+                    changed = false;
+                    edges.scan(this::spreadColor, reverse);
+                    reverse = !reverse;
+                } while (changed);
+
+                for (int v = 0; v < n; v++) {
+                    mark[v] = componentId[v] < 0 && color[v] == v ? 1 : 0;
+                }
+                do {
+                    changed = false;
+                    edges.scan(this::spreadMark, reverse);
+                    reverse = !reverse;
+                } while (changed);
+
+                // A root carries the largest id of its color, so it is assigned before its members.
+                for (int v = n - 1; v >= 0; v--) {
+                    if (mark[v] == 1 && componentId[v] < 0) {
+                        componentId[v] = color[v] == v ? nextId++ : componentId[color[v]];
+                        remaining--;
+                    }
+                }
+            }
+            passes = edges.getPasses();
+            bytesRead = edges.getBytesRead();
+            bytesPerPass = edges.bytesPerPass();
+            bufferBytes = edges.getBufferBytes();
+            edgesScanned = (long) passes * edges.edgeCount();
+        }
+        color = null;
+        mark = null;
+        componentCount = nextId;
+
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, n);
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, edgesScanned);
+        metrics.record(Metrics.Phase.SCC, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, (int) (edgesScanned / Math.max(passes, 1)));
+            event.algorithm = "semi-external";
+            event.components = componentCount;
+            event.dfsVisits = n;
+            event.dfsEdges = edgesScanned;
+            event.commit();
+        }
+        return componentCount;
+    }
+
+    /**
+     * Removes sources and sinks of the remaining graph until none are left, holding
+     * remaining in-degrees in mark. The first pass counts them while it removes sinks;
+     * later passes also remove nodes whose in-degree has dropped to zero.
+     */
+    private boolean trim(EdgeFile edges, boolean reverse) throws IOException {
+        Arrays.fill(mark, 0);
+        Trim trim = new Trim();
+        do {
+            changed = false;
+            edges.scan(trim, reverse);
+            reverse = !reverse;
+            if (trim.counting) {
+                trim.counting = false;
+                changed = changed || hasSource();
+            }
+        } while (changed && remaining > 0);
+        return reverse;
+    }
+
+    private boolean hasSource() {
+        for (int v = 0; v < n; v++) {
+            if (componentId[v] < 0 && mark[v] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Trim implements EdgeFile.EdgeVisitor {
+        boolean counting = true;
+        private boolean started;
+        private boolean source;
+        private boolean hasOut;
+
+        @Override
+        public void edge(int u, int v) {
+            if (!started) {
+                started = true;
+                source = isSource(u);
+            }
+            if (componentId[u] >= 0 || componentId[v] >= 0) {
+                return;
+            }
+            if (counting) {
+                mark[v]++;
+            } else if (source) {
+                mark[v]--;
+            }
+            hasOut = true;
+        }
+
+        @Override
+        public void endNode(int u) {
+            if (componentId[u] < 0 && ((started ? source : isSource(u)) || !hasOut)) {
+                componentId[u] = nextId++;
+                remaining--;
+                changed = true;
+            }
+            started = false;
+            hasOut = false;
+        }
+
+        // In-degrees are only complete once the counting pass is over.
+        private boolean isSource(int u) {
+            return !counting && componentId[u] < 0 && mark[u] == 0;
+        }
+    }
+
+    private void spreadColor(int u, int v) {
+        if (color[u] > color[v] && componentId[u] < 0 && componentId[v] < 0) {
+            color[v] = color[u];
+            changed = true;
+        }
+    }
+
+    private void spreadMark(int u, int v) {
+        if (mark[v] == 1 && mark[u] == 0 && color[u] == color[v] && componentId[u] < 0) {
+            mark[u] = 1;
+            changed = true;
+        }
+    }
+
+    public int getComponentCount() throws IOException {
+        return compute();
+    }
+
+    public int[] getComponentIds() throws IOException {
+        compute();
+        return componentId;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public String ioReport() {
+        return String.format("SemiExternalSCC[n=%d, components=%d, rounds=%d, passes=%d, read=%.1f MB (%.1fx the edge file), "
+                        + "budget=%.1f MB, state=%.1f MB, buffers=%d KB]",
+                n, componentCount, rounds, passes, bytesRead / 1e6, bytesPerPass == 0 ? 0.0 : (double) bytesRead / bytesPerPass,
+                memoryBudget / 1e6, (double) STATE_BYTES_PER_NODE * n / 1e6, bufferBytes >> 10);
+    }
+}
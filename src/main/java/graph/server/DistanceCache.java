@@ -0,0 +1,99 @@
+package graph.server;
+
+import graph.dagsp.PathResult;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of path trees keyed by (graph, version, source, mode). The sweep runs
+ * outside the lock, so two threads missing on the same key may both compute it;
+ * the answers are identical and the later one just replaces the earlier.
+ */
+public class DistanceCache {
+    private final int capacity;
+    private final Map<Key, PathResult> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DistanceCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PathResult> eldest) {
+                return size() > DistanceCache.this.capacity;
+            }
+        };
+    }
+
+    public PathResult get(GraphAnalysis graph, int source, boolean longest, Supplier<PathResult> compute) {
+        Key key = new Key(graph.getName(), graph.getVersion(), source, longest);
+        PathResult result;
+        synchronized (entries) {
+            result = entries.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        misses.increment();
+        result = compute.get();
+        synchronized (entries) {
+            entries.put(key, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private static final class Key {
+        private final String graph;
+        private final long version;
+        private final int source;
+        private final boolean longest;
+
+        Key(String graph, long version, int source, boolean longest) {
+            this.graph = graph;
+            this.version = version;
+            this.source = source;
+            this.longest = longest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version && source == other.source
+                    && longest == other.longest && graph.equals(other.graph);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(graph, version, source, longest);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package graph.server;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PathResult;
+import graph.model.GraphView;
+import graph.scc.Condensation;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+
+/**
+ * Everything about one version of a graph that does not depend on the query:
+ * components, condensation and the node order derived from the condensation's
+ * topological order. Built once per version and shared by all request threads.
+ * Every phase it runs records into metrics scoped to the graph's name.
+ */
+public final class GraphAnalysis {
+    private final String name;
+    private final long version;
+    private final GraphView graph;
+    private final int[] componentIds;
+    private final int componentCount;
+    private final Condensation condensation;
+    private final int[] componentOrder;
+    private final int[] nodeOrder;
+
+    private GraphAnalysis(String name, long version, GraphView graph, int[] componentIds, int componentCount,
+                          Condensation condensation, int[] componentOrder, int[] nodeOrder) {
+        this.name = name;
+        this.version = version;
+        this.graph = graph;
+        this.componentIds = componentIds;
+        this.componentCount = componentCount;
+        this.condensation = condensation;
+        this.componentOrder = componentOrder;
+        this.nodeOrder = nodeOrder;
+    }
+
+    public static GraphAnalysis analyze(String name, long version, GraphView graph, Metrics shared) {
+        Metrics metrics = shared.forGraph(name);
+        IterativeSCC scc = new IterativeSCC(graph, metrics);
+        Condensation condensation = scc.buildWeightedCondensation();
+        TopologicalSort topo = new TopologicalSort(metrics);
+        int[] componentOrder = topo.kahnTopoSort(condensation.unweightedGraph());
+        int[] nodeOrder = topo.getOriginalNodeOrder(scc.getComponentOffsets(), scc.getComponentMembers(), componentOrder);
+        return new GraphAnalysis(name, version, graph, scc.getComponentIds(), scc.getComponentCount(),
+                condensation, componentOrder, nodeOrder);
+    }
+
+    public PathResult paths(int source, boolean longest, Metrics metrics) {
+        if (source < 0 || source >= graph.nodeCount()) {
+            throw new IllegalArgumentException("Source " + source + " outside 0.." + (graph.nodeCount() - 1));
+        }
+        GraphView rooted = source == graph.getSource() ? graph : new SourceOverride(graph, source);
+        DAGShortestPath sp = new DAGShortestPath(metrics.forGraph(name));
+        return longest ? sp.longestPathTree(rooted, nodeOrder) : sp.shortestPathTree(rooted, nodeOrder);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public GraphView getGraph() {
+        return graph;
+    }
+
+    public int[] getComponentIds() {
+        return componentIds;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public Condensation getCondensation() {
+        return condensation;
+    }
+
+    public int[] getComponentOrder() {
+        return componentOrder;
+    }
+
+    public int[] getNodeOrder() {
+        return nodeOrder;
+    }
+
+    private static final class SourceOverride implements GraphView {
+        private final GraphView graph;
+        private final int source;
+
+        SourceOverride(GraphView graph, int source) {
+            this.graph = graph;
+            this.source = source;
+        }
+
+        @Override
+        public int nodeCount() {
+            return graph.nodeCount();
+        }
+
+        @Override
+        public int edgeCount() {
+            return graph.edgeCount();
+        }
+
+        @Override
+        public int getSource() {
+            return source;
+        }
+
+        @Override
+        public int edgeStart(int u) {
+            return graph.edgeStart(u);
+        }
+
+        @Override
+        public int edgeEnd(int u) {
+            return graph.edgeEnd(u);
+        }
+
+        @Override
+        public int target(int e) {
+            return graph.target(e);
+        }
+
+        @Override
+        public int weight(int e) {
+            return graph.weight(e);
+        }
+
+        @Override
+        public boolean sequentialEdges() {
+            return graph.sequentialEdges();
+        }
+
+        @Override
+        public EdgeCursor edges() {
+            return graph.edges();
+        }
+    }
+}
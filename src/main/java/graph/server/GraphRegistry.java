@@ -0,0 +1,52 @@
+package graph.server;
+
+import graph.Metrics;
+import graph.io.GraphLoader;
+import graph.io.MappedGraph;
+import graph.model.GraphView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named graphs and their current analysis. Replacing a graph analyses the new
+ * version before publishing it, so readers always see a complete analysis and
+ * cached answers for the old version simply stop being asked for.
+ */
+public class GraphRegistry {
+    private final Map<String, GraphAnalysis> graphs = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Metrics metrics;
+
+    public GraphRegistry(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public GraphAnalysis put(String name, GraphView graph) {
+        GraphAnalysis analysis = GraphAnalysis.analyze(name, versions.incrementAndGet(), graph, metrics);
+        graphs.put(name, analysis);
+        return analysis;
+    }
+
+    public GraphAnalysis load(String name, Path file) throws IOException {
+        GraphView graph = file.toString().endsWith(".bin")
+                ? MappedGraph.open(file)
+                : new GraphLoader().load(file).toCsr();
+        return put(name, graph);
+    }
+
+    public GraphAnalysis load(String name, InputStream in) throws IOException {
+        return put(name, new GraphLoader().load(in).toCsr());
+    }
+
+    public GraphAnalysis get(String name) {
+        return graphs.get(name);
+    }
+
+    public Collection<GraphAnalysis> all() {
+        return graphs.values();
+    }
+}
@@ -0,0 +1,320 @@
+package graph.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.LatencyHistogram;
+import graph.Metrics;
+import graph.MetricsExporter;
+import graph.dagsp.PathResult;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP front end over a GraphRegistry. Endpoints:
+ *   GET  /graphs                                     loaded graphs and versions
+ *   POST /graphs?name=g                              replace g with the JSON dataset in the body
+ *   GET  /paths?graph=g&source=s&mode=shortest|longest[&target=t]
+ *   GET  /critical?graph=g[&source=s]                longest path to the farthest node
+ *   GET  /stats[?format=json|csv|prometheus]         latency percentiles, cache hit ratio, metrics
+ * Each request runs on its own virtual thread when the JVM has them.
+ */
+public class QueryServer implements Closeable {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final GraphRegistry registry;
+    private final DistanceCache cache;
+    private final Metrics metrics;
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> endpointLatency = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public QueryServer(GraphRegistry registry, DistanceCache cache, Metrics metrics) {
+        this.registry = registry;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    public void start(InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, 0);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/graphs", exchange -> handle(exchange, "graphs", this::graphs));
+        server.createContext("/paths", exchange -> handle(exchange, "paths", this::paths));
+        server.createContext("/critical", exchange -> handle(exchange, "critical", this::critical));
+        server.createContext("/stats", exchange -> handle(exchange, "stats", this::stats));
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    public LatencyHistogram getRequestLatency() {
+        return requestLatency;
+    }
+
+    // Virtual threads are final in Java 21; on older runtimes fall back to a fixed pool.
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(4 * Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private interface Handler {
+        void respond(HttpExchange exchange, Map<String, String> params, JsonGenerator json) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, Handler handler) throws IOException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int status = 200;
+        String contentType = "application/json";
+        try {
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (endpoint.equals("stats") && params.containsKey("format") && !params.get("format").equals("json")) {
+                body.write(MetricsExporter.export(metrics, params.get("format")).getBytes(StandardCharsets.UTF_8));
+                contentType = "text/plain; charset=utf-8";
+            } else {
+                try (JsonGenerator json = JSON.createGenerator(body)) {
+                    handler.respond(exchange, params, json);
+                }
+            }
+        } catch (NoSuchElementException e) {
+            status = 404;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            // A bug in a handler still gets an answer and a latency sample instead of a dropped connection.
+            status = 500;
+            contentType = "application/json";
+            body = error(e.toString());
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            body.writeTo(out);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        requestLatency.record(elapsed);
+        endpointLatency.computeIfAbsent(endpoint, k -> new LatencyHistogram()).record(elapsed);
+    }
+
+    private static ByteArrayOutputStream error(String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON.createGenerator(body)) {
+            json.writeStartObject();
+            json.writeStringField("error", message);
+            json.writeEndObject();
+        }
+        return body;
+    }
+
+    private void graphs(HttpExchange exchange, Map<String, String> params, JsonGenerator json) throws IOException {
+        if (exchange.getRequestMethod().equals("POST")) {
+            String name = require(params, "name");
+            GraphAnalysis loaded = registry.load(name, exchange.getRequestBody());
+            json.writeStartObject();
+            writeGraph(json, loaded);
+            json.writeEndObject();
+            return;
+        }
+
+        json.writeStartArray();
+        for (GraphAnalysis analysis : registry.all()) {
+            json.writeStartObject();
+            writeGraph(json, analysis);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeGraph(JsonGenerator json, GraphAnalysis analysis) throws IOException {
+        json.writeStringField("name", analysis.getName());
+        json.writeNumberField("version", analysis.getVersion());
+        json.writeNumberField("nodes", analysis.getGraph().nodeCount());
+        json.writeNumberField("edges", analysis.getGraph().edgeCount());
+        json.writeNumberField("components", analysis.getComponentCount());
+    }
+
+    private void paths(HttpExchange exchange, Map<String, String> params, JsonGenerator json) throws IOException {
+        GraphAnalysis analysis = graph(params);
+        int source = intParam(params, "source", analysis.getGraph().getSource());
+        String mode = params.getOrDefault("mode", "shortest");
+        if (!mode.equals("shortest") && !mode.equals("longest")) {
+            throw new IllegalArgumentException("mode must be shortest or longest");
+        }
+        PathResult result = query(analysis, source, mode.equals("longest"));
+
+        json.writeStartObject();
+        json.writeStringField("graph", analysis.getName());
+        json.writeNumberField("version", analysis.getVersion());
+        json.writeNumberField("source", source);
+        json.writeStringField("mode", mode);
+        if (params.containsKey("target")) {
+            int target = intParam(params, "target", -1);
+            checkNode(analysis, target);
+            writePath(json, analysis, result, target);
+        } else {
+            json.writeArrayFieldStart("distances");
+            for (int v = 0; v < analysis.getGraph().nodeCount(); v++) {
+                if (result.isReachable(v)) {
+                    json.writeNumber(result.distanceTo(v));
+                } else {
+                    json.writeNull();
+                }
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    private void critical(HttpExchange exchange, Map<String, String> params, JsonGenerator json) throws IOException {
+        GraphAnalysis analysis = graph(params);
+        int source = intParam(params, "source", analysis.getGraph().getSource());
+        PathResult longest = query(analysis, source, true);
+
+        int farthest = source;
+        for (int v = 0; v < analysis.getGraph().nodeCount(); v++) {
+            if (longest.isReachable(v) && longest.distanceTo(v) > longest.distanceTo(farthest)) {
+                farthest = v;
+            }
+        }
+
+        json.writeStartObject();
+        json.writeStringField("graph", analysis.getName());
+        json.writeNumberField("version", analysis.getVersion());
+        json.writeNumberField("source", source);
+        writePath(json, analysis, longest, farthest);
+        json.writeEndObject();
+    }
+
+    private void writePath(JsonGenerator json, GraphAnalysis analysis, PathResult result, int target)
+            throws IOException {
+        json.writeNumberField("target", target);
+        if (!result.isReachable(target)) {
+            json.writeNullField("distance");
+            json.writeArrayFieldStart("path");
+            json.writeEndArray();
+            return;
+        }
+        List<Integer> path = result.pathTo(target, metrics.forGraph(analysis.getName()));
+
+        json.writeNumberField("distance", result.distanceTo(target));
+        json.writeArrayFieldStart("path");
+        for (int v : path) {
+            json.writeNumber(v);
+        }
+        json.writeEndArray();
+    }
+
+    private void stats(HttpExchange exchange, Map<String, String> params, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("requests", requestLatency.getCount());
+        writeLatency(json, "latency_ns", requestLatency);
+        json.writeObjectFieldStart("endpoints");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(endpointLatency).entrySet()) {
+            writeLatency(json, entry.getKey(), entry.getValue());
+        }
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("cache");
+        json.writeNumberField("entries", cache.size());
+        json.writeNumberField("hits", cache.getHits());
+        json.writeNumberField("misses", cache.getMisses());
+        json.writeNumberField("hit_ratio", cache.hitRatio());
+        json.writeEndObject();
+
+        json.writeFieldName("phases");
+        json.writeRawValue(MetricsExporter.toJson(metrics));
+        json.writeEndObject();
+    }
+
+    private static void writeLatency(JsonGenerator json, String field, LatencyHistogram latency) throws IOException {
+        json.writeObjectFieldStart(field);
+        json.writeNumberField("count", latency.getCount());
+        json.writeNumberField("p50", latency.percentile(50));
+        json.writeNumberField("p99", latency.percentile(99));
+        json.writeNumberField("max", latency.getMax());
+        json.writeEndObject();
+    }
+
+    private PathResult query(GraphAnalysis analysis, int source, boolean longest) {
+        checkNode(analysis, source);
+        return cache.get(analysis, source, longest, () -> analysis.paths(source, longest, metrics));
+    }
+
+    private GraphAnalysis graph(Map<String, String> params) {
+        String name = require(params, "graph");
+        GraphAnalysis analysis = registry.get(name);
+        if (analysis == null) {
+            throw new NoSuchElementException("Unknown graph: " + name);
+        }
+        return analysis;
+    }
+
+    private static void checkNode(GraphAnalysis analysis, int node) {
+        if (node < 0 || node >= analysis.getGraph().nodeCount()) {
+            throw new IllegalArgumentException("Node " + node + " outside 0.." + (analysis.getGraph().nodeCount() - 1));
+        }
+    }
+
+    private static String require(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " is not an integer: " + value);
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
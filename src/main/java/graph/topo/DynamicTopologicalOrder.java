@@ -0,0 +1,291 @@
+package graph.topo;
+
+import graph.Metrics;
+import graph.model.GraphView;
+import graph.model.IntArrayList;
+import graph.scc.IterativeSCC;
+import java.util.*;
+
+/**
+ * Topological order of the condensation kept up to date under edge insertions
+ * (Pearce-Kelly). An edge u -> v that already points forward costs O(1). Otherwise
+ * only components whose positions lie between v's and u's are searched: those
+ * reachable from v move up, those reaching u move down, reusing the same slots.
+ * If the forward search reaches u the edge closed a cycle, and the components that
+ * are both reachable from v and reach u are merged into one in place.
+ */
+public class DynamicTopologicalOrder {
+    private final Metrics metrics;
+    private final IntArrayList[] out;
+    private final IntArrayList[] in;
+    private final int[] parent;
+    private final IntArrayList[] members;
+    // position of each component representative, and the representative at each slot (-1 if free)
+    private final int[] ord;
+    private final int[] nodeAt;
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private final IntArrayList forward = new IntArrayList();
+    private final IntArrayList backward = new IntArrayList();
+    private int[] stack = new int[16];
+    private int epoch;
+    private int componentCount;
+    private long edgeCount;
+    private int lastAffected;
+
+    public DynamicTopologicalOrder(int n, Metrics metrics) {
+        this.metrics = metrics;
+        this.out = new IntArrayList[n];
+        this.in = new IntArrayList[n];
+        this.parent = new int[n];
+        this.members = new IntArrayList[n];
+        this.ord = new int[n];
+        this.nodeAt = new int[n];
+        this.forwardMark = new int[n];
+        this.backwardMark = new int[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new IntArrayList(2);
+            in[v] = new IntArrayList(2);
+            parent[v] = v;
+            members[v] = new IntArrayList(1);
+            members[v].add(v);
+            ord[v] = v;
+            nodeAt[v] = v;
+        }
+        this.componentCount = n;
+    }
+
+    public DynamicTopologicalOrder(GraphView graph, Metrics metrics) {
+        this(graph.nodeCount(), metrics);
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                out[u].add(graph.target(e));
+                in[graph.target(e)].add(u);
+            }
+        }
+        edgeCount = graph.edgeCount();
+
+        IterativeSCC scc = new IterativeSCC(graph, metrics);
+        int count = scc.compute();
+        int[] offsets = scc.getComponentOffsets();
+        int[] componentMembers = scc.getComponentMembers();
+        int[] order = new TopologicalSort(metrics).kahnTopoSort(scc.buildWeightedCondensation().unweightedGraph());
+
+        Arrays.fill(nodeAt, -1);
+        for (int position = 0; position < count; position++) {
+            int c = order[position];
+            int rep = componentMembers[offsets[c]];
+            IntArrayList list = members[rep];
+            list.clear();
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                parent[componentMembers[i]] = rep;
+                list.add(componentMembers[i]);
+            }
+            ord[rep] = position;
+            nodeAt[position] = rep;
+        }
+        componentCount = count;
+    }
+
+    /**
+     * Adds u -> v and repairs the order. Returns true if the edge closed a cycle and
+     * components were merged.
+     */
+    public boolean addEdge(int u, int v) {
+        long start = System.nanoTime();
+        out[u].add(v);
+        in[v].add(u);
+        edgeCount++;
+        lastAffected = 0;
+
+        boolean merged = false;
+        int cu = find(u);
+        int cv = find(v);
+        if (cu != cv && ord[cv] < ord[cu]) {
+            merged = reorder(cu, cv);
+        }
+        metrics.record(Metrics.Phase.TOPO, System.nanoTime() - start);
+        return merged;
+    }
+
+    private boolean reorder(int cu, int cv) {
+        int lb = ord[cv];
+        int ub = ord[cu];
+        epoch++;
+        forward.clear();
+        backward.clear();
+        long scanned = search(cv, ub, true, forwardMark, forward);
+        boolean cycle = forwardMark[cu] == epoch;
+        scanned += search(cu, lb, false, backwardMark, backward);
+        lastAffected = forward.size() + backward.size();
+
+        // Slots of every affected component, in increasing order, are reused for the new layout.
+        int[] pool = new int[forward.size() + backward.size()];
+        int poolSize = 0;
+        for (int i = 0; i < forward.size(); i++) {
+            pool[poolSize++] = ord[forward.get(i)];
+        }
+        for (int i = 0; i < backward.size(); i++) {
+            int c = backward.get(i);
+            if (forwardMark[c] != epoch) {
+                pool[poolSize++] = ord[c];
+            }
+        }
+        Arrays.sort(pool, 0, poolSize);
+
+        int[] down = sortedByPosition(backward, forwardMark);
+        int[] up = sortedByPosition(forward, backwardMark);
+        for (int i = 0; i < poolSize; i++) {
+            nodeAt[pool[i]] = -1;
+        }
+        // Components reaching u keep their relative order and move down; those reachable from v move up.
+        for (int i = 0; i < down.length; i++) {
+            place(down[i], pool[i]);
+        }
+        for (int i = 0; i < up.length; i++) {
+            place(up[i], pool[poolSize - up.length + i]);
+        }
+        if (cycle) {
+            place(mergeCycle(), pool[down.length]);
+        }
+
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.DFS_VISITS, lastAffected);
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.DFS_EDGES, scanned);
+        return cycle;
+    }
+
+    private long search(int start, int bound, boolean downstream, int[] mark, IntArrayList visited) {
+        long scanned = 0;
+        mark[start] = epoch;
+        stack[0] = start;
+        int top = 1;
+        while (top > 0) {
+            int c = stack[--top];
+            visited.add(c);
+            IntArrayList list = members[c];
+            for (int i = 0; i < list.size(); i++) {
+                IntArrayList edges = downstream ? out[list.get(i)] : in[list.get(i)];
+                scanned += edges.size();
+                for (int j = 0; j < edges.size(); j++) {
+                    int next = find(edges.get(j));
+                    if (mark[next] == epoch || (downstream ? ord[next] > bound : ord[next] < bound)) {
+                        continue;
+                    }
+                    mark[next] = epoch;
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = next;
+                }
+            }
+        }
+        return scanned;
+    }
+
+    // Components in the list that are not also marked in the other search, by current position.
+    private int[] sortedByPosition(IntArrayList components, int[] otherMark) {
+        int size = 0;
+        int[] positions = new int[components.size()];
+        for (int i = 0; i < components.size(); i++) {
+            int c = components.get(i);
+            if (otherMark[c] != epoch) {
+                positions[size++] = ord[c];
+            }
+        }
+        Arrays.sort(positions, 0, size);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = nodeAt[positions[i]];
+        }
+        return result;
+    }
+
+    private int mergeCycle() {
+        int rep = -1;
+        for (int i = 0; i < forward.size(); i++) {
+            int c = forward.get(i);
+            if (backwardMark[c] != epoch) {
+                continue;
+            }
+            if (rep == -1) {
+                rep = c;
+                continue;
+            }
+            // Union by size: the smaller member list is appended to the larger one.
+            int big = members[rep].size() >= members[c].size() ? rep : c;
+            int small = big == rep ? c : rep;
+            IntArrayList from = members[small];
+            for (int j = 0; j < from.size(); j++) {
+                members[big].add(from.get(j));
+            }
+            members[small] = null;
+            parent[small] = big;
+            rep = big;
+            componentCount--;
+        }
+        return rep;
+    }
+
+    private void place(int component, int position) {
+        ord[component] = position;
+        nodeAt[position] = component;
+    }
+
+    private int find(int v) {
+        int root = v;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[v] != root) {
+            int next = parent[v];
+            parent[v] = root;
+            v = next;
+        }
+        return root;
+    }
+
+    public int componentOf(int v) {
+        return find(v);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getLastAffected() {
+        return lastAffected;
+    }
+
+    public boolean precedes(int u, int v) {
+        return ord[find(u)] < ord[find(v)];
+    }
+
+    public int[] componentOrder() {
+        int[] order = new int[componentCount];
+        int size = 0;
+        for (int rep : nodeAt) {
+            if (rep != -1) {
+                order[size++] = rep;
+            }
+        }
+        return order;
+    }
+
+    public int[] nodeOrder() {
+        int[] order = new int[parent.length];
+        int size = 0;
+        for (int rep : nodeAt) {
+            if (rep != -1) {
+                IntArrayList list = members[rep];
+                for (int i = 0; i < list.size(); i++) {
+                    order[size++] = list.get(i);
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,160 @@
+package graph.topo;
+
+import graph.Metrics;
+import graph.jfr.TopoSortEvent;
+import graph.model.GraphView;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Level-synchronous Kahn sort. Level k holds every node whose longest chain of
+ * predecessors has k edges, so all nodes of one level can run at the same time.
+ * Wide frontiers are expanded in parallel with atomic in-degree decrements; narrow
+ * ones stay on the calling thread.
+ */
+public class LevelTopologicalSort {
+    private static final VarHandle IN_DEGREE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK = 1024;
+
+    private Metrics metrics;
+    private ForkJoinPool pool;
+    private int parallelThreshold;
+
+    public LevelTopologicalSort(Metrics metrics) {
+        this(metrics, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public LevelTopologicalSort(Metrics metrics, ForkJoinPool pool, int parallelThreshold) {
+        this.metrics = metrics;
+        this.pool = pool;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+
+    public int[][] levelTopoSort(GraphView graph) {
+        TopoSortEvent event = new TopoSortEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int n = graph.nodeCount();
+        int[] inDegree = new int[n];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            inDegree[graph.target(e)]++;
+        }
+
+        int[] frontier = new int[16];
+        int width = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                if (width == frontier.length) {
+                    frontier = Arrays.copyOf(frontier, width * 2);
+                }
+                frontier[width++] = v;
+            }
+        }
+        frontier = Arrays.copyOf(frontier, width);
+
+        List<int[]> levels = new ArrayList<>();
+        int[] next = new int[16];
+        long placed = 0;
+        while (frontier.length > 0) {
+            levels.add(frontier);
+            placed += frontier.length;
+
+            if (frontier.length >= parallelThreshold && pool.getParallelism() > 1) {
+                frontier = pool.invoke(new ExpandTask(graph, inDegree, frontier, 0, frontier.length));
+            } else {
+                int size = 0;
+                for (int u : frontier) {
+                    for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                        int v = graph.target(e);
+                        if (--inDegree[v] == 0) {
+                            if (size == next.length) {
+                                next = Arrays.copyOf(next, size * 2);
+                            }
+                            next[size++] = v;
+                        }
+                    }
+                }
+                frontier = Arrays.copyOf(next, size);
+            }
+        }
+
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_PUSHES, placed);
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_POPS, placed);
+        metrics.record(Metrics.Phase.TOPO, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.algorithm = "level";
+            event.ordered = (int) placed;
+            event.levels = levels.size();
+            event.commit();
+        }
+        return levels.toArray(new int[0][]);
+    }
+
+    public static int[] flatten(int[][] levels) {
+        int total = 0;
+        for (int[] level : levels) {
+            total += level.length;
+        }
+        int[] order = new int[total];
+        int size = 0;
+        for (int[] level : levels) {
+            System.arraycopy(level, 0, order, size, level.length);
+            size += level.length;
+        }
+        return order;
+    }
+
+    @SuppressWarnings("serial")
+    private static class ExpandTask extends RecursiveTask<int[]> {
+        private final GraphView graph;
+        private final int[] inDegree;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+
+        ExpandTask(GraphView graph, int[] inDegree, int[] frontier, int from, int to) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= CHUNK) {
+                int[] next = new int[16];
+                int size = 0;
+                for (int i = from; i < to; i++) {
+                    int u = frontier[i];
+                    for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                        int v = graph.target(e);
+                        // Exactly one thread sees the count drop to zero and owns v.
+                        if ((int) IN_DEGREE.getAndAdd(inDegree, v, -1) == 1) {
+                            if (size == next.length) {
+                                next = Arrays.copyOf(next, size * 2);
+                            }
+                            next[size++] = v;
+                        }
+                    }
+                }
+                return Arrays.copyOf(next, size);
+            }
+
+            int mid = (from + to) >>> 1;
+            ExpandTask left = new ExpandTask(graph, inDegree, frontier, from, mid);
+            left.fork();
+            int[] right = new ExpandTask(graph, inDegree, frontier, mid, to).compute();
+            int[] leftResult = left.join();
+            int[] merged = Arrays.copyOf(leftResult, leftResult.length + right.length);
+            System.arraycopy(right, 0, merged, leftResult.length, right.length);
+            return merged;
+        }
+    }
+}
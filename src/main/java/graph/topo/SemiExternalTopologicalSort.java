@@ -0,0 +1,161 @@
+package graph.topo;
+
+import graph.Metrics;
+import graph.io.EdgeFile;
+import graph.jfr.TopoSortEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Topological order of a condensation whose edges stay on disk. Every component gets
+ * a level one above the highest level among its predecessors; levels are raised in
+ * sequential edge passes that alternate direction until a pass changes nothing, and
+ * the components are then bucketed by level. One int of state is kept per component
+ * besides the order itself. A level past the component count can only come from a
+ * cycle, so the sort fails instead of looping when the ids are not real components.
+ */
+public class SemiExternalTopologicalSort {
+    public static final int STATE_BYTES_PER_NODE = 8;
+
+    private final Path file;
+    private final long memoryBudget;
+    private final Metrics metrics;
+
+    private int[] componentId;
+    private int[] level;
+    private int limit;
+    private boolean changed;
+    private int levelCount;
+    private int passes;
+    private long bytesRead;
+    private long bytesPerPass;
+
+    public SemiExternalTopologicalSort(Path file, long memoryBudget, Metrics metrics) {
+        this.file = file;
+        this.memoryBudget = memoryBudget;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Orders the nodes of an acyclic snapshot.
+     */
+    public int[] sort() throws IOException {
+        return sort(null, -1);
+    }
+
+    /**
+     * Orders the components given by componentId (node -> component, 0 .. count - 1).
+     */
+    public int[] sort(int[] componentId, int componentCount) throws IOException {
+        TopoSortEvent event = new TopoSortEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int[] order;
+        int n;
+        int m;
+        try (EdgeFile edges = EdgeFile.open(file, memoryBudget, STATE_BYTES_PER_NODE)) {
+            n = edges.nodeCount();
+            m = edges.edgeCount();
+            int count = componentId == null ? n : componentCount;
+            this.componentId = componentId;
+            this.level = new int[count];
+            this.limit = count;
+
+            boolean reverse = false;
+            do {
+                changed = false;
+                edges.scan(this::raise, reverse);
+                reverse = !reverse;
+            } while (changed);
+            passes = edges.getPasses();
+            bytesRead = edges.getBytesRead();
+            bytesPerPass = edges.bytesPerPass();
+
+            // Counting sort by level; level holds bucket offsets afterwards.
+            levelCount = 0;
+            for (int c = 0; c < count; c++) {
+                levelCount = Math.max(levelCount, level[c] + 1);
+            }
+            int[] offsets = new int[levelCount + 1];
+            for (int c = 0; c < count; c++) {
+                offsets[level[c] + 1]++;
+            }
+            for (int l = 0; l < levelCount; l++) {
+                offsets[l + 1] += offsets[l];
+            }
+            order = new int[count];
+            for (int c = 0; c < count; c++) {
+                order[offsets[level[c]]++] = c;
+            }
+        } finally {
+            this.componentId = null;
+            this.level = null;
+        }
+
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_POPS, order.length);
+        metrics.record(Metrics.Phase.TOPO, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, m);
+            event.algorithm = "semi-external";
+            event.ordered = order.length;
+            event.levels = levelCount;
+            event.commit();
+        }
+        return order;
+    }
+
+    private void raise(int u, int v) {
+        int cu = componentId == null ? u : componentId[u];
+        int cv = componentId == null ? v : componentId[v];
+        if (cu != cv && level[cu] >= level[cv]) {
+            level[cv] = level[cu] + 1;
+            if (level[cv] >= limit) {
+                throw new IllegalStateException("Edge " + u + " -> " + v + " lies on a cycle; the graph is not a DAG");
+            }
+            changed = true;
+        }
+    }
+
+    /**
+     * Expands a component order into a node order with one counting sort, no I/O.
+     */
+    public static int[] nodeOrder(int[] componentId, int[] componentOrder) {
+        int count = componentOrder.length;
+        int[] rank = new int[count];
+        for (int i = 0; i < count; i++) {
+            rank[componentOrder[i]] = i;
+        }
+        int[] offsets = new int[count + 1];
+        for (int c : componentId) {
+            offsets[rank[c] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] order = new int[componentId.length];
+        for (int v = 0; v < componentId.length; v++) {
+            order[offsets[rank[componentId[v]]]++] = v;
+        }
+        return order;
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public String ioReport() {
+        return String.format("SemiExternalTopologicalSort[levels=%d, passes=%d, read=%.1f MB (%.1fx the edge file), budget=%.1f MB]",
+                levelCount, passes, bytesRead / 1e6, bytesPerPass == 0 ? 0.0 : (double) bytesRead / bytesPerPass,
+                memoryBudget / 1e6);
+    }
+}
@@ -1,6 +1,8 @@
 package graph.topo;
 
 import graph.Metrics;
+import graph.jfr.TopoSortEvent;
+import graph.model.GraphView;
 import java.util.*;
 
 public class TopologicalSort {
@@ -11,7 +13,9 @@ public class TopologicalSort {
     }
 
     public List<Integer> kahnTopoSort(List<List<Integer>> graph) {
-        metrics.startTimer();
+        TopoSortEvent event = new TopoSortEvent();
+        event.begin();
+        long start = System.nanoTime();
 
         int n = graph.size();
         int[] inDegree = new int[n];
@@ -26,29 +30,87 @@ public class TopologicalSort {
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
                 queue.offer(i);
-                metrics.kahnPushes++;
             }
         }
+        long pushes = queue.size();
+        long pops = 0;
 
         List<Integer> topoOrder = new ArrayList<>();
         while (!queue.isEmpty()) {
             int u = queue.poll();
-            metrics.kahnPops++;
+            pops++;
             topoOrder.add(u);
 
             for (int v : graph.get(u)) {
                 inDegree[v]--;
                 if (inDegree[v] == 0) {
                     queue.offer(v);
-                    metrics.kahnPushes++;
+                    pushes++;
                 }
             }
         }
 
-        metrics.stopTimer();
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_PUSHES, pushes);
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_POPS, pops);
+        metrics.record(Metrics.Phase.TOPO, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.stream().mapToLong(List::size).sum());
+            event.algorithm = "kahn";
+            event.ordered = topoOrder.size();
+            event.commit();
+        }
         return topoOrder;
     }
 
+    public int[] kahnTopoSort(GraphView graph) {
+        TopoSortEvent event = new TopoSortEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int n = graph.nodeCount();
+        int[] inDegree = new int[n];
+        GraphView.EdgeCursor edges = graph.edges();
+        for (int u = 0; u < n; u++) {
+            edges.reset(u);
+            while (edges.next()) {
+                inDegree[edges.target()]++;
+            }
+        }
+
+        // Every node is enqueued at most once, so the output array doubles as the queue.
+        int[] order = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        int pushes = tail;
+
+        int head = 0;
+        while (head < tail) {
+            edges.reset(order[head++]);
+            while (edges.next()) {
+                int v = edges.target();
+                if (--inDegree[v] == 0) {
+                    order[tail++] = v;
+                    pushes++;
+                }
+            }
+        }
+
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_PUSHES, pushes);
+        metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_POPS, head);
+        metrics.record(Metrics.Phase.TOPO, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.algorithm = "kahn";
+            event.ordered = tail;
+            event.commit();
+        }
+        return tail == n ? order : Arrays.copyOf(order, tail);
+    }
+
     public void printTopoOrder(List<Integer> order) {
         System.out.println("Topological Order: " + order);
     }
@@ -60,4 +122,19 @@ public class TopologicalSort {
         }
         return result;
     }
+
+    public void printTopoOrder(int[] order) {
+        System.out.println("Topological Order: " + Arrays.toString(order));
+    }
+
+    public int[] getOriginalNodeOrder(int[] componentOffsets, int[] componentMembers, int[] compOrder) {
+        int[] result = new int[componentMembers.length];
+        int size = 0;
+        for (int compId : compOrder) {
+            int length = componentOffsets[compId + 1] - componentOffsets[compId];
+            System.arraycopy(componentMembers, componentOffsets[compId], result, size, length);
+            size += length;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package graph.workspace;
+
+import graph.Metrics;
+import graph.jfr.PathSweepEvent;
+import graph.jfr.SccEvent;
+import graph.model.GraphView;
+import java.util.*;
+import jdk.jfr.EventType;
+
+/**
+ * Runs SCC, topological order and DAG shortest/longest paths on graph after graph
+ * without allocating once its buffers have grown to the largest graph seen. The
+ * SCC pass is an iterative Tarjan whose pops already come out in reverse
+ * topological order of the condensation, so filling the caller's order buffer from
+ * the back yields the node order for the path sweep with no separate Kahn pass.
+ * Component ids are numbered in topological order.
+ */
+public class SolverWorkspace {
+    // Events are only created while a recording enables them, so the steady state stays
+    // allocation-free even after JFR has instrumented the event classes.
+    private static final EventType SCC_EVENT = EventType.getEventType(SccEvent.class);
+    private static final EventType SWEEP_EVENT = EventType.getEventType(PathSweepEvent.class);
+
+    private final Metrics metrics;
+    private int[] index = new int[0];
+    private int[] low = new int[0];
+    private int[] cursor = new int[0];
+    private int[] callStack = new int[0];
+    private int[] sccStack = new int[0];
+    private boolean[] onStack = new boolean[0];
+
+    public SolverWorkspace(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void ensureCapacity(int n) {
+        if (index.length >= n) {
+            return;
+        }
+        int capacity = Math.max(n, index.length + (index.length >> 1));
+        index = new int[capacity];
+        low = new int[capacity];
+        cursor = new int[capacity];
+        callStack = new int[capacity];
+        sccStack = new int[capacity];
+        onStack = new boolean[capacity];
+    }
+
+    public int getCapacity() {
+        return index.length;
+    }
+
+    /**
+     * Runs the pipeline from the graph's source. Output arrays need at least
+     * nodeCount() entries; dist and predecessor may be null to stop after the order.
+     * Returns the number of strongly connected components.
+     */
+    public int solve(GraphView graph, boolean longest, int[] componentId, int[] order, int[] dist, int[] predecessor) {
+        return solve(graph, graph.getSource(), longest, componentId, order, dist, predecessor);
+    }
+
+    public int solve(GraphView graph, int source, boolean longest,
+                     int[] componentId, int[] order, int[] dist, int[] predecessor) {
+        int n = graph.nodeCount();
+        if (componentId.length < n || order.length < n
+                || (dist != null && dist.length < n) || (predecessor != null && predecessor.length < n)) {
+            throw new IllegalArgumentException("Output buffers need at least " + n + " entries");
+        }
+        ensureCapacity(n);
+
+        SccEvent event = SCC_EVENT.isEnabled() ? new SccEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        int count = components(graph, componentId, order);
+        // Tarjan numbers components in reverse topological order; flip so ids follow the order.
+        for (int v = 0; v < n; v++) {
+            componentId[v] = count - 1 - componentId[v];
+        }
+        metrics.record(Metrics.Phase.SCC, System.nanoTime() - start);
+        if (event != null && event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.algorithm = "workspace-tarjan";
+            event.components = count;
+            event.dfsVisits = n;
+            event.dfsEdges = graph.edgeCount();
+            event.commit();
+        }
+
+        if (dist != null) {
+            paths(graph, source, longest, order, dist, predecessor);
+        }
+        return count;
+    }
+
+    private int components(GraphView graph, int[] componentId, int[] order) {
+        int n = graph.nodeCount();
+        Arrays.fill(index, 0, n, -1);
+        int counter = 0;
+        int count = 0;
+        int sccTop = 0;
+        int filled = n;
+        long edges = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int callTop = 0;
+            index[root] = low[root] = counter++;
+            cursor[root] = graph.edgeStart(root);
+            callStack[callTop++] = root;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                if (cursor[v] < graph.edgeEnd(v)) {
+                    int w = graph.target(cursor[v]++);
+                    edges++;
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        cursor[w] = graph.edgeStart(w);
+                        callStack[callTop++] = w;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    if (low[v] < low[parent]) {
+                        low[parent] = low[v];
+                    }
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        componentId[w] = count;
+                        order[--filled] = w;
+                    } while (w != v);
+                    count++;
+                }
+            }
+        }
+
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, n);
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, edges);
+        return count;
+    }
+
+    private void paths(GraphView graph, int source, boolean longest, int[] order, int[] dist, int[] predecessor) {
+        PathSweepEvent event = SWEEP_EVENT.isEnabled() ? new PathSweepEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        int n = graph.nodeCount();
+        int unreachable = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Arrays.fill(dist, 0, n, unreachable);
+        if (predecessor != null) {
+            Arrays.fill(predecessor, 0, n, -1);
+        }
+        dist[source] = 0;
+
+        long relaxations = 0;
+        for (int i = 0; i < n; i++) {
+            int u = order[i];
+            int du = dist[u];
+            if (du == unreachable) {
+                continue;
+            }
+            int end = graph.edgeEnd(u);
+            relaxations += end - graph.edgeStart(u);
+            for (int e = graph.edgeStart(u); e < end; e++) {
+                int v = graph.target(e);
+                int candidate = du + graph.weight(e);
+                if (longest ? candidate > dist[v] : candidate < dist[v]) {
+                    dist[v] = candidate;
+                    if (predecessor != null) {
+                        predecessor[v] = u;
+                    }
+                }
+            }
+        }
+
+        Metrics.Phase phase = longest ? Metrics.Phase.LP : Metrics.Phase.SP;
+        metrics.add(phase, Metrics.Counter.RELAXATIONS, relaxations);
+        metrics.record(phase, System.nanoTime() - start);
+        if (event != null && event.shouldCommit()) {
+            event.graph(metrics.getGraphId(), n, graph.edgeCount());
+            event.sweep("workspace", longest, source, 1, relaxations);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void testPhasesAreKeptApart() {
+        Metrics metrics = new Metrics();
+        metrics.add(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS, 5);
+        metrics.add(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS, 7);
+
+        assertEquals(5, metrics.get(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS));
+        assertEquals(7, metrics.get(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS));
+        assertEquals(12, metrics.getRelaxations());
+
+        metrics.reset();
+        assertEquals(0, metrics.getRelaxations());
+    }
+
+    @Test
+    void testGraphScopesShareCounters() {
+        Metrics shared = new Metrics();
+        Metrics a = shared.forGraph("a");
+        Metrics b = shared.forGraph("b");
+        a.add(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS, 2);
+        b.add(Metrics.Phase.SP, Metrics.Counter.RELAXATIONS, 3);
+        b.record(Metrics.Phase.SP, 100);
+
+        assertEquals("", shared.getGraphId());
+        assertEquals("a", a.getGraphId());
+        assertEquals("b", b.getGraphId());
+        assertEquals(5, shared.getRelaxations());
+        assertEquals(1, a.latency(Metrics.Phase.SP).getCount());
+        assertEquals(100, shared.getElapsedTime());
+    }
+
+    @Test
+    void testCountersDoNotOverflowInt() {
+        Metrics metrics = new Metrics();
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, Integer.MAX_VALUE);
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_EDGES, Integer.MAX_VALUE);
+
+        assertEquals(2L * Integer.MAX_VALUE, metrics.getDfsEdges());
+    }
+
+    @Test
+    void testConcurrentUpdates() throws InterruptedException {
+        Metrics metrics = new Metrics();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.add(Metrics.Phase.TOPO, Metrics.Counter.KAHN_POPS, 1);
+                    metrics.record(Metrics.Phase.TOPO, i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, metrics.getKahnPops());
+        assertEquals(40_000, metrics.latency(Metrics.Phase.TOPO).getCount());
+    }
+
+    @Test
+    void testPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getMin());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.125);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.125);
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    void testExportFormats() {
+        Metrics metrics = new Metrics();
+        metrics.add(Metrics.Phase.SCC, Metrics.Counter.DFS_VISITS, 3);
+        metrics.record(Metrics.Phase.SCC, 1200);
+
+        assertTrue(MetricsExporter.toJson(metrics).contains("\"scc\":{\"dfs_visits\":3"));
+        String[] csv = MetricsExporter.toCsv(metrics).split("\n");
+        assertEquals(Metrics.Phase.values().length + 1, csv.length);
+        assertTrue(csv[1].startsWith("scc,3,"));
+        assertTrue(MetricsExporter.toPrometheus(metrics)
+                .contains("graph_dfs_visits_total{phase=\"scc\"} 3"));
+        assertThrows(IllegalArgumentException.class, () -> MetricsExporter.export(metrics, "xml"));
+    }
+}
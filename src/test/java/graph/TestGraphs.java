@@ -0,0 +1,41 @@
+package graph;
+
+import graph.model.CsrGraph;
+import java.util.*;
+
+/**
+ * Seeded random graphs for tests, weights 1..9 and source 0.
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /** Every edge goes from a lower id to a higher one. */
+    public static CsrGraph randomDag(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n - 1);
+            to[i] = from[i] + 1 + random.nextInt(n - 1 - from[i]);
+            weight[i] = 1 + random.nextInt(9);
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, m);
+    }
+
+    /** Uniformly random edges, self-loops and cycles included. */
+    public static CsrGraph randomDigraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weight[i] = 1 + random.nextInt(9);
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, m);
+    }
+}
@@ -0,0 +1,61 @@
+package graph.batch;
+
+import graph.Metrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPipelineTest {
+
+    private static void write(Path file, String json) throws Exception {
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEveryFileGetsOneRow(@TempDir Path dir) throws Exception {
+        for (int i = 0; i < 12; i++) {
+            write(dir.resolve("chain" + i + ".json"), "{\"directed\": true, \"n\": 3, \"source\": 0, \"edges\": ["
+                    + "{\"u\": 0, \"v\": 1, \"w\": " + (i + 1) + "}, {\"u\": 1, \"v\": 2, \"w\": 1}]}");
+        }
+        write(dir.resolve("broken.json"), "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5, \"w\": 1}]}");
+        write(dir.resolve("notes.txt"), "ignored");
+
+        StringWriter out = new StringWriter();
+        Metrics totals = new Metrics();
+        long files;
+        try (ReportWriter report = new ReportWriter(out, ReportWriter.Format.CSV)) {
+            files = new BatchPipeline(3, totals).run(dir, report);
+            assertEquals(13, report.getRows());
+        }
+
+        assertEquals(13, files);
+        List<String> lines = Arrays.asList(out.toString().split("\n"));
+        assertEquals(14, lines.size());
+        assertTrue(lines.get(0).startsWith("file,nodes,edges,components,topo_length,critical_path_length"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("chain4.json,3,2,3,3,6,3,")), out.toString());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("broken.json,0,") && line.contains("IOException")));
+        assertEquals(36, totals.getDfsVisits());
+        assertEquals(12, totals.latency(Metrics.Phase.SCC).getCount());
+    }
+
+    @Test
+    void testJsonLinesRow() throws Exception {
+        Metrics metrics = new Metrics();
+        StringWriter out = new StringWriter();
+        try (ReportWriter report = new ReportWriter(out, ReportWriter.Format.JSONL)) {
+            report.write(new BatchResult("g.json", 4, 3, 2, 4, 7, 3, metrics));
+            report.write(new BatchResult("bad.json", "IOException: truncated"));
+        }
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"file\":\"g.json\",\"nodes\":4,\"edges\":3,\"components\":2"), lines[0]);
+        assertTrue(lines[0].contains("\"phase_ns\":{\"scc\":0"));
+        assertEquals("{\"file\":\"bad.json\",\"error\":\"IOException: truncated\"}", lines[1]);
+    }
+}
@@ -0,0 +1,70 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriticalPathMethodTest {
+
+    private static CriticalPathSchedule schedule(CsrGraph graph, CriticalPathMethod.WeightModel model, int[] durations) {
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+        return new CriticalPathMethod(new Metrics())
+                .schedule(graph, scc.getComponentIds(), scc.getComponentCount(), model, durations);
+    }
+
+    @Test
+    void testNodeDurationsOnDiamond() {
+        // Test: 0 -> 1 -> 3, 0 -> 2 -> 3 with durations 2, 5, 1, 3
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, null, 4);
+        CriticalPathSchedule cpm = schedule(graph, CriticalPathMethod.WeightModel.NODE, new int[]{2, 5, 1, 3});
+
+        assertEquals(10, cpm.getProjectDuration());
+        assertArrayEquals(new int[]{0, 2, 2, 7}, cpm.getEarliestStarts());
+        assertArrayEquals(new int[]{0, 2, 6, 7}, cpm.getLatestStarts());
+        assertEquals(4, cpm.totalSlack(2));
+        assertArrayEquals(new int[]{0, 1, 3}, cpm.criticalTasks());
+    }
+
+    @Test
+    void testEdgeLagsMatchLongestPath() {
+        // Test: 0 -> 1 (w 3), 0 -> 2 (w 1), 2 -> 1 (w 1), 1 -> 3 (w 4)
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 2, 1}, new int[]{1, 2, 1, 3}, new int[]{3, 1, 1, 4}, 4);
+        CriticalPathSchedule cpm = schedule(graph, CriticalPathMethod.WeightModel.EDGE, null);
+
+        assertEquals(7, cpm.getProjectDuration());
+        assertArrayEquals(new int[]{0, 3, 1, 7}, cpm.getEarliestStarts());
+        assertEquals(1, cpm.totalSlack(2));
+        assertArrayEquals(new int[]{0, 1, 3}, cpm.criticalTasks());
+    }
+
+    @Test
+    void testCycleIsScheduledAsOneBlock() {
+        // Test: 0 -> 1 <-> 2 -> 3, every task takes 1
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, new int[]{0, 1, 2, 2}, new int[]{1, 2, 1, 3}, null, 4);
+        CriticalPathSchedule cpm = schedule(graph, CriticalPathMethod.WeightModel.NODE, new int[]{1, 1, 1, 1});
+
+        assertEquals(4, cpm.getProjectDuration());
+        assertEquals(1, cpm.earliestStart(1));
+        assertEquals(2, cpm.earliestStart(2));
+        assertEquals(3, cpm.earliestStart(3));
+        assertEquals(4, cpm.criticalTasks().length);
+    }
+
+    @Test
+    void testRecordsUnderItsOwnPhase() {
+        CsrGraph graph = CsrGraph.fromEdges(3, 0, new int[]{0, 1}, new int[]{1, 2}, new int[]{4, 5}, 2);
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+        Metrics metrics = new Metrics();
+        new CriticalPathMethod(metrics).schedule(graph, scc.getComponentIds(), scc.getComponentCount(),
+                CriticalPathMethod.WeightModel.EDGE, null);
+
+        assertEquals(1, metrics.latency(Metrics.Phase.CPM).getCount());
+        assertTrue(metrics.get(Metrics.Phase.CPM, Metrics.Counter.RELAXATIONS) > 0);
+        assertEquals(0, metrics.latency(Metrics.Phase.LP).getCount());
+        assertEquals(0, metrics.get(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS));
+        // The condensation's topological sort is counted on the caller's metrics too.
+        assertEquals(1, metrics.latency(Metrics.Phase.TOPO).getCount());
+    }
+}
@@ -0,0 +1,91 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.model.CsrGraph;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DAGShortestPathTest {
+
+    private static int pathWeight(CsrGraph graph, List<Integer> path, boolean longest) {
+        int total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int best = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            for (int e = graph.edgeStart(path.get(i)); e < graph.edgeEnd(path.get(i)); e++) {
+                if (graph.target(e) == path.get(i + 1)) {
+                    best = longest ? Math.max(best, graph.weight(e)) : Math.min(best, graph.weight(e));
+                }
+            }
+            assertNotEquals(longest ? Integer.MIN_VALUE : Integer.MAX_VALUE, best, "path uses a missing edge");
+            total += best;
+        }
+        return total;
+    }
+
+    @Test
+    void testPredecessorPathsAgreeWithDistances() {
+        CsrGraph graph = TestGraphs.randomDag(300, 1200, 11).withSource(5);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(graph);
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+
+        for (boolean longest : new boolean[]{false, true}) {
+            PathResult result = longest ? sp.longestPathTree(graph, order) : sp.shortestPathTree(graph, order);
+            int[] plain = longest ? sp.longestPath(graph, order) : sp.shortestPath(graph, order);
+            assertArrayEquals(plain, result.getDistances());
+
+            List<List<Integer>> all = result.allPaths();
+            for (int v = 0; v < graph.n; v++) {
+                List<Integer> path = result.pathTo(v);
+                assertEquals(all.get(v), path);
+                if (!result.isReachable(v)) {
+                    assertTrue(path.isEmpty());
+                    continue;
+                }
+                assertEquals(5, path.get(0));
+                assertEquals(v, path.get(path.size() - 1));
+                assertEquals(result.distanceTo(v), pathWeight(graph, path, longest));
+            }
+        }
+    }
+
+    @Test
+    void testPathTreeOnSampleGraph() {
+        // Test: 4 -> 5 -> 6 -> 7 with the cycle 1 -> 2 -> 3 -> 1 unreachable from source 4
+        int[] from = {0, 1, 2, 3, 4, 5, 6};
+        int[] to = {1, 2, 3, 1, 5, 6, 7};
+        int[] weight = {3, 2, 4, 1, 2, 5, 1};
+        CsrGraph graph = CsrGraph.fromEdges(8, 4, from, to, weight, 7);
+        int[] order = {0, 4, 1, 2, 3, 5, 6, 7};
+
+        PathResult longest = new DAGShortestPath(new Metrics()).longestPathTree(graph, order);
+
+        assertEquals(Arrays.asList(4, 5, 6, 7), longest.pathTo(7));
+        assertEquals(8, longest.distanceTo(7));
+        assertFalse(longest.isReachable(0));
+    }
+
+    @Test
+    void testMultiSourceMatchesSingleSourceSweeps() {
+        CsrGraph graph = TestGraphs.randomDag(200, 900, 21);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(graph);
+        int[] sources = new int[37];
+        for (int k = 0; k < sources.length; k++) {
+            sources[k] = (k * 7) % graph.n;
+        }
+
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        for (int tileSize : new int[]{1, 8, 64}) {
+            MultiSourcePaths batch = new MultiSourcePaths(new Metrics(), tileSize);
+            int[][] shortest = batch.shortestPaths(graph, order, sources);
+            int[][] longest = batch.longestPaths(graph, order, sources);
+            for (int k = 0; k < sources.length; k++) {
+                CsrGraph fromSource = graph.withSource(sources[k]);
+                assertArrayEquals(sp.shortestPath(fromSource, order), shortest[k]);
+                assertArrayEquals(sp.longestPath(fromSource, order), longest[k]);
+            }
+        }
+    }
+}
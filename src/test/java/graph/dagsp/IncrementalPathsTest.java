@@ -0,0 +1,88 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalPathsTest {
+
+    private static void assertMatchesFullSweep(boolean longest, long seed) {
+        int n = 400;
+        int m = 1600;
+        Random random = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            // Sorted sources keep CSR slot i equal to input edge i.
+            from[i] = i * (n - 1) / m;
+            to[i] = from[i] + 1 + random.nextInt(n - 1 - from[i]);
+            weight[i] = 1 + random.nextInt(20);
+        }
+        CsrGraph graph = CsrGraph.fromEdges(n, 3, from, to, weight, m);
+        int[] topo = new TopologicalSort(new Metrics()).kahnTopoSort(graph);
+        IncrementalPaths incremental = new IncrementalPaths(graph, topo, longest, new Metrics());
+
+        for (int batch = 0; batch < 20; batch++) {
+            for (int k = 0; k < 5; k++) {
+                int e = random.nextInt(m);
+                weight[e] = random.nextInt(30) - 5;
+                incremental.setWeight(e, weight[e]);
+            }
+            int touched = incremental.apply();
+            assertTrue(touched <= n);
+
+            CsrGraph current = CsrGraph.fromEdges(n, 3, from, to, weight, m);
+            DAGShortestPath sp = new DAGShortestPath(new Metrics());
+            int[] expected = longest ? sp.longestPath(current, topo) : sp.shortestPath(current, topo);
+            assertArrayEquals(expected, incremental.getDistances());
+
+            PathResult result = incremental.toPathResult();
+            for (int v = 0; v < n; v++) {
+                if (v != 3 && result.isReachable(v)) {
+                    List<Integer> path = result.pathTo(v);
+                    assertEquals(3, path.get(0));
+                    assertEquals(v, path.get(path.size() - 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testShortestRepairMatchesFullSweep() {
+        assertMatchesFullSweep(false, 5);
+    }
+
+    @Test
+    void testLongestRepairMatchesFullSweep() {
+        assertMatchesFullSweep(true, 6);
+    }
+
+    @Test
+    void testOnlyDownstreamNodesAreTouched() {
+        // 0 -> 1 -> 2 -> 3 and 0 -> 4 -> 5
+        CsrGraph graph = CsrGraph.fromEdges(6, 0,
+                new int[]{0, 0, 1, 2, 4}, new int[]{1, 4, 2, 3, 5}, new int[]{1, 1, 1, 1, 1}, 5);
+        IncrementalPaths paths = new IncrementalPaths(graph, new int[]{0, 1, 2, 3, 4, 5}, false, new Metrics());
+
+        paths.updateWeight(4, 5, 7);
+        assertEquals(1, paths.apply());
+        assertEquals(8, paths.getDistances()[5]);
+
+        paths.updateWeight(1, 2, 5);
+        assertEquals(2, paths.apply());
+        assertEquals(7, paths.getDistances()[3]);
+
+        assertThrows(IllegalArgumentException.class, () -> paths.updateWeight(3, 0, 1));
+    }
+
+    @Test
+    void testRejectsOrderThatIsNotTopological() {
+        CsrGraph graph = CsrGraph.fromEdges(2, 0, new int[]{0}, new int[]{1}, new int[]{1}, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new IncrementalPaths(graph, new int[]{1, 0}, false, new Metrics()));
+    }
+}
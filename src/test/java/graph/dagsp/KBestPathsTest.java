@@ -0,0 +1,180 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.io.GraphLoader;
+import graph.model.CsrGraph;
+import graph.scc.Condensation;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KBestPathsTest {
+
+    /** Every path from the source with at least one edge, as lengths per end node. */
+    private static List<List<Integer>> bruteForce(CsrGraph dag) {
+        List<List<Integer>> lengths = new ArrayList<>();
+        for (int v = 0; v < dag.nodeCount(); v++) {
+            lengths.add(new ArrayList<>());
+        }
+        walk(dag, dag.getSource(), 0, lengths);
+        return lengths;
+    }
+
+    private static void walk(CsrGraph dag, int u, int length, List<List<Integer>> lengths) {
+        for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+            int v = dag.target(e);
+            lengths.get(v).add(length + dag.weight(e));
+            walk(dag, v, length + dag.weight(e), lengths);
+        }
+    }
+
+    private static List<Integer> best(List<Integer> lengths, int k, boolean longest) {
+        List<Integer> sorted = new ArrayList<>(lengths);
+        sorted.sort(longest ? Comparator.reverseOrder() : Comparator.naturalOrder());
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    /** Lengths the node sequence can have; parallel edges give it more than one. */
+    private static Set<Integer> pathWeights(CsrGraph dag, List<Integer> path) {
+        Set<Integer> totals = Collections.singleton(0);
+        for (int i = 0; i + 1 < path.size(); i++) {
+            Set<Integer> next = new HashSet<>();
+            for (int e = dag.edgeStart(path.get(i)); e < dag.edgeEnd(path.get(i)); e++) {
+                if (dag.target(e) == path.get(i + 1)) {
+                    for (int total : totals) {
+                        next.add(total + dag.weight(e));
+                    }
+                }
+            }
+            assertFalse(next.isEmpty(), "path uses a missing edge");
+            totals = next;
+        }
+        return totals;
+    }
+
+    private static void assertMatchesBruteForce(CsrGraph dag, int k) {
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        List<List<Integer>> lengths = bruteForce(dag);
+        List<Integer> chains = new ArrayList<>();
+        for (int v = 0; v < dag.nodeCount(); v++) {
+            if (dag.outDegree(v) == 0) {
+                chains.addAll(lengths.get(v));
+            }
+        }
+        if (dag.outDegree(dag.getSource()) == 0) {
+            chains.add(0);
+        }
+
+        KBestPaths enumerator = new KBestPaths(new Metrics());
+        for (boolean longest : new boolean[]{false, true}) {
+            KPathResult result = longest ? enumerator.longest(dag, order, k) : enumerator.shortest(dag, order, k);
+            for (int v = 0; v < dag.nodeCount(); v++) {
+                if (v == dag.getSource()) {
+                    assertArrayEquals(new int[]{0}, result.distancesTo(v));
+                    continue;
+                }
+                List<Integer> expected = best(lengths.get(v), k, longest);
+                assertEquals(expected.size(), result.labelCount(v), "node " + v);
+                for (int r = 0; r < expected.size(); r++) {
+                    assertEquals(expected.get(r), result.distanceTo(v, r), "node " + v + " rank " + r);
+                    List<Integer> path = result.pathTo(v, r);
+                    assertEquals(dag.getSource(), path.get(0));
+                    assertEquals(v, path.get(path.size() - 1));
+                    assertTrue(pathWeights(dag, path).contains(result.distanceTo(v, r)), path.toString());
+                }
+            }
+
+            List<Integer> expectedTop = best(chains, k, longest);
+            assertEquals(expectedTop.size(), result.topCount());
+            for (int i = 0; i < expectedTop.size(); i++) {
+                assertEquals(expectedTop.get(i), result.topDistance(i), "top " + i);
+                List<Integer> chain = result.topPath(i);
+                assertEquals(0, dag.outDegree(chain.get(chain.size() - 1)));
+                assertTrue(pathWeights(dag, chain).contains(result.topDistance(i)));
+            }
+        }
+    }
+
+    @Test
+    void testSmallDatasetsAgainstBruteForce() throws IOException {
+        for (String name : new String[]{"small_1", "small_2", "small_3", "medium_1", "medium_2", "medium_3", "tasks"}) {
+            CsrGraph graph = new GraphLoader().load(Paths.get("src/data/" + name + ".json")).toCsr();
+            Condensation condensation = new IterativeSCC(graph, new Metrics()).buildWeightedCondensation();
+            for (int k : new int[]{1, 2, 5}) {
+                assertMatchesBruteForce(condensation.longestGraph(), k);
+                assertMatchesBruteForce(condensation.shortestGraph(), k);
+            }
+        }
+    }
+
+    @Test
+    void testSourceThatIsASinkRanksItsEmptyChain() throws IOException {
+        // In small_3 the source's component has no way out of itself.
+        CsrGraph graph = new GraphLoader().load(Paths.get("src/data/small_3.json")).toCsr();
+        CsrGraph dag = new IterativeSCC(graph, new Metrics()).buildWeightedCondensation().longestGraph();
+        assertEquals(0, dag.outDegree(dag.getSource()));
+
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        KPathResult result = new KBestPaths(new Metrics()).longest(dag, order, 3);
+        assertEquals(1, result.topCount());
+        assertEquals(List.of(dag.getSource()), result.topPath(0));
+        assertEquals(0, result.topDistance(0));
+    }
+
+    @Test
+    void testRandomDagsWithParallelEdgesAgainstBruteForce() {
+        Random random = new Random(3);
+        for (int round = 0; round < 30; round++) {
+            int n = 3 + random.nextInt(12);
+            int m = random.nextInt(3 * n);
+            int[] from = new int[m];
+            int[] to = new int[m];
+            int[] weight = new int[m];
+            for (int i = 0; i < m; i++) {
+                from[i] = random.nextInt(n - 1);
+                to[i] = from[i] + 1 + random.nextInt(n - 1 - from[i]);
+                weight[i] = random.nextInt(21) - 5;
+            }
+            CsrGraph dag = CsrGraph.fromEdges(n, random.nextInt(2), from, to, weight, m);
+            assertMatchesBruteForce(dag, 1 + random.nextInt(8));
+        }
+    }
+
+    @Test
+    void testOneLabelMatchesSinglePathSweep() {
+        int n = 2000;
+        CsrGraph dag = TestGraphs.randomDag(n, 8000, 8);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        int[] longest = new DAGShortestPath(new Metrics()).longestPath(dag, order);
+
+        Metrics metrics = new Metrics();
+        KPathResult one = new KBestPaths(metrics).longest(dag, order, 1);
+        KPathResult ten = new KBestPaths(new Metrics()).longest(dag, order, 10);
+        int max = Integer.MIN_VALUE;
+        for (int v = 0; v < n; v++) {
+            if (longest[v] != Integer.MIN_VALUE) {
+                assertEquals(longest[v], one.distanceTo(v, 0));
+                assertEquals(longest[v], ten.distanceTo(v, 0));
+                if (dag.outDegree(v) == 0) {
+                    max = Math.max(max, longest[v]);
+                }
+            } else {
+                assertEquals(0, ten.labelCount(v));
+            }
+        }
+        assertEquals(max, ten.topDistance(0));
+        assertEquals(10, ten.topCount());
+        for (int i = 1; i < ten.topCount(); i++) {
+            assertTrue(ten.topDistance(i) <= ten.topDistance(i - 1));
+        }
+        assertTrue(metrics.getRelaxations() > 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new KBestPaths(new Metrics()).longest(dag, order, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ten.pathTo(0, 1));
+    }
+}
@@ -0,0 +1,128 @@
+package graph.dagsp;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.model.CsrGraph;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListSchedulerTest {
+
+    private static ListSchedule schedule(CsrGraph dag, int[] durations, int workers) {
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        return new ListScheduler(new Metrics()).schedule(dag, order, durations, workers);
+    }
+
+    private static void assertFeasible(CsrGraph dag, int[] durations, ListSchedule schedule) {
+        for (int u = 0; u < dag.nodeCount(); u++) {
+            assertEquals(durations[u], schedule.finish(u) - schedule.start(u));
+            assertTrue(schedule.finish(u) <= schedule.getMakespan());
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                assertTrue(schedule.start(dag.target(e)) >= schedule.finish(u), u + " -> " + dag.target(e));
+            }
+        }
+
+        // Sorting each worker's tasks by start time, none may overlap the next.
+        Integer[] tasks = new Integer[dag.nodeCount()];
+        for (int t = 0; t < tasks.length; t++) {
+            tasks[t] = t;
+        }
+        Arrays.sort(tasks, Comparator.comparingInt((Integer t) -> schedule.worker(t)).thenComparingInt(schedule::start)
+                .thenComparingInt(schedule::finish));
+        for (int i = 1; i < tasks.length; i++) {
+            if (schedule.worker(tasks[i]) == schedule.worker(tasks[i - 1])) {
+                assertTrue(schedule.start(tasks[i]) >= schedule.finish(tasks[i - 1]), "worker " + schedule.worker(tasks[i]));
+            }
+        }
+    }
+
+    @Test
+    void testDiamondOnOneAndTwoWorkers() {
+        // Test: 0 -> 1 -> 3, 0 -> 2 -> 3 with durations 2, 5, 1, 3
+        CsrGraph dag = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, null, 4);
+        int[] durations = {2, 5, 1, 3};
+
+        ListSchedule serial = schedule(dag, durations, 1);
+        assertEquals(11, serial.getMakespan());
+        // Task 1 heads the longer remaining chain (5 + 3) so it goes before task 2.
+        assertEquals(2, serial.start(1));
+        assertEquals(7, serial.start(2));
+        assertEquals(1.0, serial.utilization(), 1e-9);
+
+        ListSchedule parallel = schedule(dag, durations, 2);
+        assertEquals(10, parallel.getMakespan());
+        assertArrayEquals(new int[]{0, 2, 2, 7}, parallel.getStarts());
+        assertNotEquals(parallel.worker(1), parallel.worker(2));
+        assertEquals(10, parallel.priority(0));
+        assertFeasible(dag, durations, parallel);
+    }
+
+    @Test
+    void testRandomDagsAreFeasibleAndBounded() {
+        Random random = new Random(9);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(400);
+            CsrGraph dag = TestGraphs.randomDag(n, random.nextInt(3 * n), round);
+            int[] durations = new int[n];
+            long total = 0;
+            for (int v = 0; v < n; v++) {
+                durations[v] = random.nextInt(10);
+                total += durations[v];
+            }
+            int[] ids = new int[n];
+            CriticalPathSchedule cpm = new CriticalPathMethod(new Metrics())
+                    .schedule(dag, identity(ids), n, CriticalPathMethod.WeightModel.NODE, durations);
+
+            for (int workers : new int[]{1, 3, n}) {
+                ListSchedule schedule = schedule(dag, durations, workers);
+                assertFeasible(dag, durations, schedule);
+                assertTrue(schedule.getMakespan() >= cpm.getProjectDuration());
+                assertTrue(schedule.getMakespan() >= (total + workers - 1) / workers);
+                if (workers == 1) {
+                    assertEquals(total, schedule.getMakespan());
+                }
+                if (workers == n) {
+                    assertEquals(cpm.getProjectDuration(), schedule.getMakespan());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRecordsUnderItsOwnPhase() {
+        CsrGraph dag = CsrGraph.fromEdges(3, 0, new int[]{0, 1}, new int[]{1, 2}, null, 2);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+        Metrics metrics = new Metrics();
+        new ListScheduler(metrics).schedule(dag, order, new int[]{1, 2, 3}, 2);
+
+        assertEquals(1, metrics.latency(Metrics.Phase.SCHEDULE).getCount());
+        assertEquals(4, metrics.get(Metrics.Phase.SCHEDULE, Metrics.Counter.RELAXATIONS));
+        assertEquals(0, metrics.latency(Metrics.Phase.LP).getCount());
+        assertEquals(0, metrics.get(Metrics.Phase.LP, Metrics.Counter.RELAXATIONS));
+    }
+
+    private static int[] identity(int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    @Test
+    void testLargeDagAndErrors() {
+        int n = 300000;
+        CsrGraph dag = TestGraphs.randomDag(n, 3 * n, 1);
+        int[] durations = new int[n];
+        Arrays.fill(durations, 1);
+        ListSchedule schedule = schedule(dag, durations, 8);
+        assertFeasible(dag, durations, schedule);
+        assertTrue(schedule.utilization() > 0.5);
+
+        CsrGraph cycle = CsrGraph.fromEdges(2, 0, new int[]{0, 1}, new int[]{1, 0}, null, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> new ListScheduler(new Metrics()).schedule(cycle, new int[]{0, 1}, new int[]{1, 1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> schedule(dag, durations, 0));
+    }
+}
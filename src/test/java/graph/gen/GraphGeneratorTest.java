@@ -0,0 +1,67 @@
+package graph.gen;
+
+import graph.Metrics;
+import graph.io.GraphLoader;
+import graph.io.MappedGraph;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CsrGraph roundTrip(GraphGenerator generator) throws IOException {
+        Path json = tempDir.resolve("graph.json");
+        long edges = generator.writeJson(json);
+        CsrGraph graph = new GraphLoader().load(json).toCsr();
+        assertEquals(edges, graph.m);
+        return graph;
+    }
+
+    @Test
+    void testDagFamiliesAreAcyclic() throws IOException {
+        for (GraphGenerator.Family family : new GraphGenerator.Family[]{
+                GraphGenerator.Family.RANDOM_DAG, GraphGenerator.Family.LAYERED_DAG, GraphGenerator.Family.CHAIN}) {
+            CsrGraph graph = roundTrip(new GraphGenerator(family, 500, 1).averageDegree(3));
+            assertEquals(500, graph.n);
+            assertEquals(500, new IterativeSCC(graph, new Metrics()).compute(), family.name());
+        }
+    }
+
+    @Test
+    void testPlantedSccsHaveRequestedSize() throws IOException {
+        CsrGraph graph = roundTrip(new GraphGenerator(GraphGenerator.Family.PLANTED_SCC, 1000, 2).sccSize(10));
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+
+        assertEquals(100, scc.compute());
+        int[] offsets = scc.getComponentOffsets();
+        for (int c = 0; c < 100; c++) {
+            assertEquals(10, offsets[c + 1] - offsets[c]);
+        }
+    }
+
+    @Test
+    void testSameSeedSameGraphAndBinaryMatchesJson() throws IOException {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Family.POWER_LAW, 2000, 3).averageDegree(5);
+        CsrGraph fromJson = roundTrip(generator);
+        Path binary = tempDir.resolve("graph.bin");
+        generator.writeBinary(binary);
+        MappedGraph fromBinary = MappedGraph.open(binary);
+
+        assertEquals(fromJson.m, fromBinary.edgeCount());
+        for (int u = 0; u < fromJson.n; u++) {
+            assertEquals(fromJson.edgeEnd(u), fromBinary.edgeEnd(u));
+        }
+        for (int e = 0; e < fromJson.m; e++) {
+            assertEquals(fromJson.target(e), fromBinary.target(e));
+            assertEquals(fromJson.weight(e), fromBinary.weight(e));
+        }
+        assertTrue(fromJson.m > 2000, "power-law graph should average several edges per node");
+    }
+}
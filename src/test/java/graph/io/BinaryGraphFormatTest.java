@@ -0,0 +1,61 @@
+package graph.io;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripMatchesHeapGraph() throws IOException {
+        Path json = Paths.get("src/data/large_2.json");
+        Path binary = tempDir.resolve("large_2.bin");
+        BinaryGraphFormat.convert(json, binary);
+
+        GraphData data = new GraphLoader().load(json);
+        CsrGraph heap = data.toCsr();
+        MappedGraph mapped = MappedGraph.open(binary);
+
+        assertEquals(heap.n, mapped.nodeCount());
+        assertEquals(heap.m, mapped.edgeCount());
+        assertEquals(heap.source, mapped.getSource());
+        assertEquals(data.weightModel, mapped.getWeightModel());
+        for (int u = 0; u < heap.n; u++) {
+            assertEquals(heap.edgeStart(u), mapped.edgeStart(u));
+            assertEquals(heap.edgeEnd(u), mapped.edgeEnd(u));
+        }
+        for (int e = 0; e < heap.m; e++) {
+            assertEquals(heap.target(e), mapped.target(e));
+            assertEquals(heap.weight(e), mapped.weight(e));
+        }
+
+        // All three passes run on the mapped view without copying it
+        assertArrayEquals(new IterativeSCC(heap, new Metrics()).getComponentIds(),
+                new IterativeSCC(mapped, new Metrics()).getComponentIds());
+        TopologicalSort topo = new TopologicalSort(new Metrics());
+        int[] order = topo.kahnTopoSort(heap);
+        assertArrayEquals(order, topo.kahnTopoSort(mapped));
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        assertArrayEquals(sp.longestPath(heap, order), sp.longestPath(mapped, order));
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Path bogus = tempDir.resolve("bogus.bin");
+        Files.write(bogus, new byte[64]);
+        assertThrows(IOException.class, () -> MappedGraph.open(bogus));
+    }
+}
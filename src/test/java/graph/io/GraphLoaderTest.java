@@ -0,0 +1,51 @@
+package graph.io;
+
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphLoaderTest {
+
+    private static GraphData loadString(String json) throws IOException {
+        return new GraphLoader().load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testLoadTasksDataset() throws IOException {
+        GraphLoader loader = new GraphLoader();
+        GraphData data = loader.load(Paths.get("src/data/tasks.json"));
+
+        assertEquals(8, data.n);
+        assertEquals(4, data.source);
+        assertEquals("edge", data.weightModel);
+        assertEquals(7, data.edgeCount());
+        assertEquals(7, loader.getEdgesRead());
+        assertTrue(loader.getBytesRead() > 0);
+
+        CsrGraph graph = data.toCsr();
+        assertEquals(1, graph.target(graph.edgeStart(3)));
+        assertEquals(1, graph.weight(graph.edgeStart(3)));
+    }
+
+    @Test
+    void testFieldOrderAndUnknownFieldsDoNotMatter() throws IOException {
+        GraphData data = loadString("{\"edges\": [{\"w\": 9, \"v\": 1, \"u\": 0, \"label\": {\"x\": [1]}}],"
+                + " \"meta\": [1, 2, {\"a\": 3}], \"source\": 1, \"n\": 2}");
+
+        assertEquals(2, data.n);
+        assertEquals(1, data.source);
+        assertEquals(1, data.edgeCount());
+        assertEquals(9, data.weight.get(0));
+    }
+
+    @Test
+    void testRejectsEdgeOutsideNodeRange() {
+        assertThrows(IOException.class,
+                () -> loadString("{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 2, \"w\": 1}], \"source\": 0}"));
+    }
+}
@@ -0,0 +1,153 @@
+package graph.jfr;
+
+import graph.Metrics;
+import graph.dagsp.CriticalPathMethod;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.ListScheduler;
+import graph.dagsp.PathResult;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import graph.server.GraphAnalysis;
+import graph.topo.TopologicalSort;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseEventsTest {
+
+    @Test
+    void testEveryPhaseEmitsAnEvent(@TempDir Path dir) throws Exception {
+        // 0 -> 1 -> 2 -> 1, 2 -> 3
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, new int[]{0, 1, 2, 2}, new int[]{1, 2, 1, 3}, new int[]{1, 2, 3, 4}, 4);
+        Metrics metrics = new Metrics().forGraph("jfr-test");
+
+        Path file = dir.resolve("phases.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"graph.SccSearch", "graph.CondensationBuild", "graph.TopologicalSort",
+                    "graph.PathSweep", "graph.PathReconstruction"}) {
+                recording.enable(name);
+            }
+            recording.start();
+
+            IterativeSCC scc = new IterativeSCC(graph, metrics);
+            CsrGraph condensation = scc.buildWeightedCondensation().unweightedGraph();
+            TopologicalSort topo = new TopologicalSort(metrics);
+            int[] order = topo.getOriginalNodeOrder(scc.getComponentOffsets(), scc.getComponentMembers(),
+                    topo.kahnTopoSort(condensation));
+            PathResult longest = new DAGShortestPath(metrics).longestPathTree(graph, order);
+            longest.pathTo(2, metrics);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            events.put(event.getEventType().getName(), event);
+        }
+
+        RecordedEvent sccEvent = events.get("graph.SccSearch");
+        assertNotNull(sccEvent);
+        assertEquals("jfr-test", sccEvent.getString("graphId"));
+        assertEquals(4, sccEvent.getInt("nodes"));
+        assertEquals(3, sccEvent.getInt("components"));
+        assertEquals(2, events.get("graph.CondensationBuild").getInt("condensationEdges"));
+        assertEquals(3, events.get("graph.TopologicalSort").getInt("ordered"));
+        assertEquals("longest", events.get("graph.PathSweep").getString("mode"));
+        assertEquals(metrics.getRelaxations(), events.get("graph.PathSweep").getLong("relaxations"));
+        assertEquals(2, events.get("graph.PathReconstruction").getInt("target"));
+        assertEquals(3, events.get("graph.PathReconstruction").getInt("pathLength"));
+    }
+
+    @Test
+    void testListScheduleHasItsOwnEvent(@TempDir Path dir) throws Exception {
+        CsrGraph dag = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, null, 4);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(dag);
+
+        Path file = dir.resolve("schedule.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("graph.ListSchedule");
+            recording.enable("graph.PathSweep");
+            recording.start();
+            new ListScheduler(new Metrics().forGraph("crew")).schedule(dag, order, new int[]{2, 5, 1, 3}, 2);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        events.removeIf(event -> !event.getEventType().getName().startsWith("graph."));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("graph.ListSchedule", event.getEventType().getName());
+        assertEquals("crew", event.getString("graphId"));
+        assertEquals(2, event.getInt("workers"));
+        assertEquals(10, event.getLong("makespan"));
+        assertEquals(8, event.getLong("relaxations"));
+    }
+
+    @Test
+    void testCriticalPathHasItsOwnEvent(@TempDir Path dir) throws Exception {
+        CsrGraph dag = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, null, 4);
+
+        Path file = dir.resolve("cpm.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("graph.CriticalPath");
+            recording.enable("graph.PathSweep");
+            recording.start();
+            new CriticalPathMethod(new Metrics().forGraph("plan"))
+                    .schedule(dag, new int[]{0, 1, 2, 3}, 4, CriticalPathMethod.WeightModel.NODE, new int[]{2, 5, 1, 3});
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // The condensation and its topological sort emit their own phase events too.
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        events.removeIf(event -> !event.getEventType().getName().matches("graph\\.(CriticalPath|PathSweep)"));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("graph.CriticalPath", event.getEventType().getName());
+        assertEquals("plan", event.getString("graphId"));
+        assertEquals("node", event.getString("weightModel"));
+        assertEquals(4, event.getInt("components"));
+        assertEquals(10, event.getLong("projectDuration"));
+        assertEquals(3, event.getInt("criticalTasks"));
+        assertEquals(8, event.getLong("relaxations"));
+    }
+
+    @Test
+    void testServerAnalysesNameTheirGraph(@TempDir Path dir) throws Exception {
+        CsrGraph graph = CsrGraph.fromEdges(3, 0, new int[]{0, 1}, new int[]{1, 2}, new int[]{1, 1}, 2);
+        Metrics shared = new Metrics();
+
+        Path file = dir.resolve("server.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("graph.SccSearch");
+            recording.enable("graph.PathSweep");
+            recording.start();
+            GraphAnalysis alpha = GraphAnalysis.analyze("alpha", 1, graph, shared);
+            GraphAnalysis beta = GraphAnalysis.analyze("beta", 2, graph, shared);
+            beta.paths(0, true, shared);
+            alpha.paths(0, false, shared);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Set<String> sccGraphs = new HashSet<>();
+        Map<String, String> sweeps = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals("graph.SccSearch")) {
+                sccGraphs.add(event.getString("graphId"));
+            } else if (event.getEventType().getName().equals("graph.PathSweep")) {
+                sweeps.put(event.getString("mode"), event.getString("graphId"));
+            }
+        }
+        assertEquals(Set.of("alpha", "beta"), sccGraphs);
+        assertEquals(Map.of("longest", "beta", "shortest", "alpha"), sweeps);
+        assertEquals("", shared.getGraphId());
+    }
+}
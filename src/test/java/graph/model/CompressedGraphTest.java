@@ -0,0 +1,178 @@
+package graph.model;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedGraphTest {
+
+    private static CsrGraph randomGraph(int n, int m, int maxJump, long seed) {
+        Random random = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = Math.floorMod(from[i] + random.nextInt(2 * maxJump + 1) - maxJump, n);
+            // Mostly small weights, some needing the escape: negative and large.
+            weight[i] = i % 10 == 0 ? random.nextInt() : random.nextInt(15);
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, weight, m);
+    }
+
+    private static List<Long> sortedEdges(GraphView graph, int u) {
+        List<Long> edges = new ArrayList<>();
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+            edges.add(((long) graph.target(e) << 32) | (graph.weight(e) & 0xFFFFFFFFL));
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    @Test
+    void testRoundTripAndRandomAccess() {
+        CsrGraph csr = randomGraph(2000, 9000, 3000, 1);
+        CompressedGraph compressed = CompressedGraph.encode(csr);
+        assertEquals(csr.nodeCount(), compressed.nodeCount());
+        assertEquals(csr.edgeCount(), compressed.edgeCount());
+        for (int u = 0; u < csr.nodeCount(); u++) {
+            assertEquals(csr.outDegree(u), compressed.outDegree(u));
+            assertEquals(sortedEdges(csr, u), sortedEdges(compressed, u), "node " + u);
+        }
+
+        // Jumping around and backwards must give the same answers as the sequential walk.
+        int[] targets = new int[compressed.edgeCount()];
+        int[] weights = new int[compressed.edgeCount()];
+        for (int e = 0; e < targets.length; e++) {
+            targets[e] = compressed.target(e);
+            weights[e] = compressed.weight(e);
+        }
+        Random random = new Random(2);
+        for (int i = 0; i < 20000; i++) {
+            int e = random.nextInt(targets.length);
+            assertEquals(targets[e], compressed.target(e));
+            assertEquals(weights[e], compressed.weight(e));
+        }
+    }
+
+    @Test
+    void testEdgeCursorsMatchSlots() {
+        CsrGraph csr = randomGraph(3000, 12000, 50, 6);
+        CompressedGraph compressed = CompressedGraph.encode(csr);
+        assertFalse(csr.sequentialEdges());
+        assertTrue(compressed.sequentialEdges());
+        for (GraphView graph : new GraphView[]{csr, compressed}) {
+            // Two cursors and slot reads interleaved over nodes in random order, as a DFS would.
+            GraphView.EdgeCursor outer = graph.edges();
+            GraphView.EdgeCursor inner = graph.edges();
+            Random random = new Random(7);
+            for (int i = 0; i < 2000; i++) {
+                int u = random.nextInt(graph.nodeCount());
+                outer.reset(u);
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    assertTrue(outer.next());
+                    int v = random.nextInt(graph.nodeCount());
+                    inner.reset(v);
+                    int degree = 0;
+                    while (inner.next()) {
+                        assertEquals(graph.target(graph.edgeStart(v) + degree), inner.target());
+                        degree++;
+                    }
+                    assertEquals(graph.outDegree(v), degree);
+                    assertEquals(graph.target(e), outer.target());
+                    assertEquals(graph.weight(e), outer.weight());
+                }
+                assertFalse(outer.next());
+            }
+        }
+    }
+
+    @Test
+    void testLocalEdgesCostAboutOneByte() {
+        int n = 100000;
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weight = new int[n - 1];
+        for (int u = 0; u < n - 1; u++) {
+            from[u] = u;
+            to[u] = u + 1;
+            weight[u] = 1 + u % 9;
+        }
+        CsrGraph csr = CsrGraph.fromEdges(n, 0, from, to, weight, n - 1);
+        CompressedGraph compressed = CompressedGraph.encode(csr);
+        // One byte per edge, plus two more at each restart, which holds an absolute target.
+        assertTrue(compressed.encodedBytes() <= (n - 1) + 2 * ((n - 1) / 16 + 1), "bytes=" + compressed.encodedBytes());
+        assertTrue(compressed.bytesPerEdge() < csr.heapBytes() / (double) csr.edgeCount() / 2, compressed.toString());
+    }
+
+    @Test
+    void testAlgorithmsMatchUncompressed() {
+        CsrGraph csr = randomGraph(3000, 12000, 40, 3);
+        CompressedGraph compressed = CompressedGraph.encode(csr);
+
+        IterativeSCC expected = new IterativeSCC(csr, new Metrics());
+        IterativeSCC actual = new IterativeSCC(compressed, new Metrics());
+        assertEquals(expected.compute(), actual.compute());
+        int[] expectedIds = expected.getComponentIds();
+        int[] actualIds = actual.getComponentIds();
+        for (int u = 0; u < csr.nodeCount(); u++) {
+            for (int e = csr.edgeStart(u); e < csr.edgeEnd(u); e++) {
+                int v = csr.target(e);
+                assertEquals(expectedIds[u] == expectedIds[v], actualIds[u] == actualIds[v]);
+            }
+        }
+
+        // A DAG with non-negative weights: sorted neighbor order cannot change distances.
+        int n = 2000;
+        CsrGraph dag = TestGraphs.randomDag(n, 8000, 4);
+        CompressedGraph compressedDag = CompressedGraph.encode(dag);
+        int[] order = new TopologicalSort(new Metrics()).kahnTopoSort(compressedDag);
+        assertEquals(n, order.length);
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        assertArrayEquals(sp.shortestPath(dag, order), sp.shortestPath(compressedDag, order));
+        assertArrayEquals(sp.longestPath(dag, order), sp.longestPath(compressedDag, order));
+    }
+
+    @Test
+    void testConcurrentReaders() throws Exception {
+        CsrGraph csr = randomGraph(5000, 20000, 100, 5);
+        CompressedGraph compressed = CompressedGraph.encode(csr);
+        long expected = 0;
+        for (int e = 0; e < compressed.edgeCount(); e++) {
+            expected += compressed.target(e) + 31L * compressed.weight(e);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> sums = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                sums.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    long sum = 0;
+                    for (int round = 0; round < 5; round++) {
+                        int offset = random.nextInt(compressed.edgeCount());
+                        for (int i = 0; i < compressed.edgeCount(); i++) {
+                            int e = (offset + i) % compressed.edgeCount();
+                            sum += compressed.target(e) + 31L * compressed.weight(e);
+                        }
+                    }
+                    return sum;
+                }));
+            }
+            for (Future<Long> sum : sums) {
+                assertEquals(5 * expected, (long) sum.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package graph.model;
+
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrGraphTest {
+
+    @Test
+    void testFromEdgesGroupsBySourceInInputOrder() {
+        // Edges given out of order: 2->0, 0->2, 0->1, 1->2
+        int[] from = {2, 0, 0, 1};
+        int[] to = {0, 2, 1, 2};
+        int[] weight = {7, 5, 3, 1};
+
+        CsrGraph graph = CsrGraph.fromEdges(3, 0, from, to, weight, 4);
+
+        assertEquals(3, graph.n);
+        assertEquals(4, graph.m);
+        assertEquals(2, graph.outDegree(0));
+        assertEquals(2, graph.target(graph.edgeStart(0)));
+        assertEquals(5, graph.weight(graph.edgeStart(0)));
+        assertEquals(1, graph.target(graph.edgeStart(0) + 1));
+        assertEquals(0, graph.target(graph.edgeStart(2)));
+        assertEquals(Arrays.asList(Arrays.asList(2, 1), List.of(2), List.of(0)), graph.toAdjacencyList());
+    }
+
+    @Test
+    void testOverloadsMatchListBasedPasses() {
+        // Test: 0 -> 1 -> 3, 0 -> 2 -> 3 with different weights
+        DAGShortestPath.Graph weighted = new DAGShortestPath.Graph(4, 0);
+        weighted.addEdge(0, 1, 1);
+        weighted.addEdge(0, 2, 4);
+        weighted.addEdge(1, 3, 6);
+        weighted.addEdge(2, 3, 1);
+        CsrGraph csr = weighted.toCsr();
+
+        TopologicalSort topo = new TopologicalSort(new Metrics());
+        List<Integer> listOrder = topo.kahnTopoSort(csr.toAdjacencyList());
+        int[] csrOrder = topo.kahnTopoSort(csr);
+        assertArrayEquals(listOrder.stream().mapToInt(Integer::intValue).toArray(), csrOrder);
+
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        int[] shortest = sp.shortestPath(csr, csrOrder);
+        int[] longest = sp.longestPath(csr, csrOrder);
+        assertArrayEquals(sp.shortestPath(weighted, listOrder), shortest);
+        assertArrayEquals(sp.longestPath(weighted, listOrder), longest);
+
+        assertEquals(Arrays.asList(0, 2, 3), sp.reconstructPath(shortest, csr, 3, csrOrder));
+        assertEquals(Arrays.asList(0, 1, 3), sp.reconstructPath(longest, csr, 3, csrOrder));
+    }
+}
@@ -0,0 +1,151 @@
+package graph.partition;
+
+import graph.Metrics;
+import graph.dagsp.PathResult;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.server.GraphAnalysis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedPipelineTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    // Two disjoint chains, the first with the cycle 1 -> 2 -> 3 -> 1, source in the second.
+    private static CsrGraph twoChains() {
+        int[] from = {0, 1, 2, 3, 4, 5, 6};
+        int[] to = {1, 2, 3, 1, 5, 6, 7};
+        int[] weight = {3, 2, 4, 1, 2, 5, 1};
+        return CsrGraph.fromEdges(8, 4, from, to, weight, from.length);
+    }
+
+    private static CsrGraph randomForest(int pieces, int pieceSize, long seed) {
+        Random random = new Random(seed);
+        int n = pieces * pieceSize;
+        int edges = pieces * pieceSize * 2;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weight = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            // Nodes of piece p are p, p + pieces, p + 2 * pieces, ... so pieces interleave in id space.
+            int piece = random.nextInt(pieces);
+            from[i] = piece + pieces * random.nextInt(pieceSize);
+            to[i] = piece + pieces * random.nextInt(pieceSize);
+            weight[i] = 1 + random.nextInt(9);
+        }
+        return CsrGraph.fromEdges(n, 3, from, to, weight, edges);
+    }
+
+    @Test
+    void testSplitFindsWeakPieces() {
+        WeakComponents pieces = WeakComponents.split(twoChains());
+        assertEquals(2, pieces.getPieceCount());
+        assertEquals(0, pieces.pieceOf(3));
+        assertEquals(1, pieces.pieceOf(7));
+        assertEquals(0, pieces.localId(4));
+        assertEquals(6, pieces.globalId(1, 2));
+        assertTrue(pieces.containsSource(1));
+
+        CsrGraph second = pieces.extract(1);
+        assertEquals(4, second.nodeCount());
+        assertEquals(3, second.edgeCount());
+        assertEquals(0, second.getSource());
+        assertEquals(1, second.target(second.edgeStart(0)));
+        assertEquals(5, second.weight(second.edgeStart(1)));
+    }
+
+    @Test
+    void testTwoChainsMatchMonolith() {
+        assertMatchesMonolith(twoChains(), 1);
+    }
+
+    @Test
+    void testManyPiecesMatchMonolith() {
+        assertMatchesMonolith(randomForest(300, 12, 7), PartitionedPipeline.DEFAULT_BATCH_WORK);
+        assertMatchesMonolith(randomForest(300, 12, 8), 64);
+    }
+
+    @Test
+    void testSmallPiecesAreBatched() {
+        PartitionedResult result = new PartitionedPipeline(pool, new Metrics(), 1000).solve(randomForest(500, 4, 3));
+        assertTrue(result.getPieceCount() >= 500);
+        assertTrue(result.getBatchCount() < 50, "batches=" + result.getBatchCount());
+    }
+
+    @Test
+    void testIsolatedNodesAndEmptyGraph() {
+        CsrGraph isolated = CsrGraph.fromEdges(5, 2, new int[]{3}, new int[]{3}, new int[]{1}, 1);
+        PartitionedResult result = new PartitionedPipeline(pool, new Metrics()).solve(isolated);
+        assertEquals(5, result.getPieceCount());
+        assertEquals(5, result.getComponentCount());
+        assertEquals(0, result.getShortest().distanceTo(2));
+        assertFalse(result.getLongest().isReachable(3));
+
+        CsrGraph empty = CsrGraph.fromEdges(0, 0, new int[0], new int[0], new int[0], 0);
+        assertEquals(0, new PartitionedPipeline(pool, new Metrics()).solve(empty).getPieceCount());
+    }
+
+    private static void assertMatchesMonolith(CsrGraph graph, int batchWork) {
+        Metrics metrics = new Metrics();
+        PartitionedResult split = new PartitionedPipeline(pool, metrics, batchWork).solve(graph);
+        GraphAnalysis whole = GraphAnalysis.analyze("whole", 0, graph, new Metrics());
+
+        assertEquals(whole.getComponentCount(), split.getComponentCount());
+        int[] ids = split.getComponentIds();
+        int[] expected = whole.getComponentIds();
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                assertEquals(expected[u] == expected[v], ids[u] == ids[v], u + " -> " + v);
+            }
+        }
+
+        int[] position = new int[graph.nodeCount()];
+        int[] order = split.getNodeOrder();
+        assertEquals(graph.nodeCount(), order.length);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                assertTrue(ids[u] == ids[v] || position[u] < position[v], u + " -> " + v + " out of order");
+            }
+        }
+
+        assertDistances(whole.paths(graph.getSource(), false, new Metrics()), split.getShortest(), graph);
+        assertDistances(whole.paths(graph.getSource(), true, new Metrics()), split.getLongest(), graph);
+        assertTrue(metrics.latency(Metrics.Phase.SCC).getCount() > 0);
+    }
+
+    // Relabeling keeps the relative node order inside a piece, so even sweeps through
+    // cycles see the same member order and must produce identical distances.
+    private static void assertDistances(PathResult expected, PathResult actual, GraphView graph) {
+        assertArrayEquals(expected.getDistances(), actual.getDistances());
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (actual.isReachable(v) && v != actual.getSource()) {
+                int p = actual.getPredecessors()[v];
+                assertTrue(actual.isReachable(p));
+                boolean edge = false;
+                for (int e = graph.edgeStart(p); e < graph.edgeEnd(p); e++) {
+                    edge |= graph.target(e) == v && actual.distanceTo(p) + graph.weight(e) == actual.distanceTo(v);
+                }
+                assertTrue(edge, "predecessor of " + v);
+            }
+        }
+    }
+}
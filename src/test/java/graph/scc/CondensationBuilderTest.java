@@ -0,0 +1,64 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondensationBuilderTest {
+
+    @Test
+    void testParallelEdgesAreMergedWithMinAndMaxWeights() {
+        // Test: cycle {0, 1} with edges 0->2 (w 5), 1->2 (w 2), 0->2 (w 9), and 2 -> 3 (w 4)
+        int[] from = {0, 1, 0, 1, 0, 2};
+        int[] to = {1, 0, 2, 2, 2, 3};
+        int[] weight = {1, 1, 5, 2, 9, 4};
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, from, to, weight, from.length);
+
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+        Condensation condensation = scc.buildWeightedCondensation();
+        int c01 = condensation.componentOf(0);
+        int c2 = condensation.componentOf(2);
+
+        assertEquals(3, condensation.getComponentCount());
+        assertEquals(2, condensation.getEdgeCount());
+        assertEquals(c01, condensation.shortestGraph().getSource());
+
+        CsrGraph shortest = condensation.shortestGraph();
+        CsrGraph longest = condensation.longestGraph();
+        assertEquals(1, shortest.outDegree(c01));
+        assertEquals(c2, shortest.target(shortest.edgeStart(c01)));
+        assertEquals(2, shortest.weight(shortest.edgeStart(c01)));
+        assertEquals(9, longest.weight(longest.edgeStart(c01)));
+    }
+
+    @Test
+    void testSameEdgesAsListBasedCondensation() {
+        Random random = new Random(5);
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + random.nextInt(80);
+            List<List<Integer>> adjacency = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                adjacency.add(new ArrayList<>());
+            }
+            for (int i = 0; i < 3 * n; i++) {
+                adjacency.get(random.nextInt(n)).add(random.nextInt(n));
+            }
+
+            SCC scc = new SCC(n, adjacency, new Metrics());
+            List<List<Integer>> components = scc.findSCCs();
+            List<List<Integer>> expected = scc.buildCondensationGraph();
+
+            int[] ids = new int[n];
+            for (int c = 0; c < components.size(); c++) {
+                for (int node : components.get(c)) {
+                    ids[node] = c;
+                }
+            }
+            Condensation condensation = CondensationBuilder.build(CsrGraph.fromAdjacency(adjacency), ids, components.size());
+
+            assertEquals(expected, condensation.unweightedGraph().toAdjacencyList());
+        }
+    }
+}
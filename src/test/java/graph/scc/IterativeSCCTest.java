@@ -0,0 +1,82 @@
+package graph.scc;
+
+import graph.Metrics;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IterativeSCCTest {
+
+    private static List<List<Integer>> emptyGraph(int n) {
+        List<List<Integer>> graph = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            graph.add(new ArrayList<>());
+        }
+        return graph;
+    }
+
+    private static List<List<Integer>> sorted(List<List<Integer>> lists) {
+        for (List<Integer> list : lists) {
+            Collections.sort(list);
+        }
+        return lists;
+    }
+
+    @Test
+    void testMatchesRecursiveTarjan() {
+        // Random graphs with plenty of cycles: components and metrics must match exactly
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + random.nextInt(60);
+            List<List<Integer>> graph = emptyGraph(n);
+            int m = random.nextInt(3 * n);
+            for (int i = 0; i < m; i++) {
+                graph.get(random.nextInt(n)).add(random.nextInt(n));
+            }
+
+            Metrics recursiveMetrics = new Metrics();
+            Metrics iterativeMetrics = new Metrics();
+            SCC recursive = new SCC(n, graph, recursiveMetrics);
+            IterativeSCC iterative = new IterativeSCC(n, graph, iterativeMetrics);
+
+            assertEquals(recursive.findSCCs(), iterative.findSCCs());
+            assertEquals(sorted(recursive.buildCondensationGraph()), sorted(iterative.buildCondensationGraph()));
+            assertEquals(recursiveMetrics.getDfsVisits(), iterativeMetrics.getDfsVisits());
+            assertEquals(recursiveMetrics.getDfsEdges(), iterativeMetrics.getDfsEdges());
+        }
+    }
+
+    @Test
+    void testDeepChainDoesNotOverflow() {
+        // Test: 0 -> 1 -> ... -> n-1 -> 0, far deeper than the recursive version can go
+        int n = 500_000;
+        List<List<Integer>> graph = emptyGraph(n);
+        for (int i = 0; i < n; i++) {
+            graph.get(i).add((i + 1) % n);
+        }
+
+        Metrics metrics = new Metrics();
+        IterativeSCC scc = new IterativeSCC(n, graph, metrics);
+
+        assertEquals(1, scc.compute());
+        assertEquals(n, scc.findSCCs().get(0).size());
+        assertEquals(n, metrics.getDfsVisits());
+        assertEquals(n, metrics.getDfsEdges());
+    }
+
+    @Test
+    void testComponentIds() {
+        // Test: 0 <-> 1 -> 2
+        List<List<Integer>> graph = emptyGraph(3);
+        graph.get(0).add(1);
+        graph.get(1).add(0);
+        graph.get(1).add(2);
+
+        IterativeSCC scc = new IterativeSCC(3, graph, new Metrics());
+        int[] ids = scc.getComponentIds();
+
+        assertEquals(2, scc.getComponentCount());
+        assertEquals(ids[0], ids[1]);
+        assertNotEquals(ids[0], ids[2]);
+    }
+}
@@ -0,0 +1,61 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSCCTest {
+
+    // Labels every node with the smallest node of its component, so partitions compare directly.
+    private static int[] canonical(int[] componentIds, int count) {
+        int[] smallest = new int[count];
+        Arrays.fill(smallest, Integer.MAX_VALUE);
+        for (int v = 0; v < componentIds.length; v++) {
+            smallest[componentIds[v]] = Math.min(smallest[componentIds[v]], v);
+        }
+        int[] labels = new int[componentIds.length];
+        for (int v = 0; v < componentIds.length; v++) {
+            labels[v] = smallest[componentIds[v]];
+        }
+        return labels;
+    }
+
+    @Test
+    void testSameComponentsAsTarjan() {
+        // Small graphs stay under the sequential threshold, large ones go through forward/backward splits
+        int[][] shapes = {{50, 60}, {2_000, 2_500}, {40_000, 44_000}, {40_000, 80_000}, {60_000, 30_000}};
+        for (int[] shape : shapes) {
+            CsrGraph graph = TestGraphs.randomDigraph(shape[0], shape[1], shape[0] + shape[1]);
+            IterativeSCC sequential = new IterativeSCC(graph, new Metrics());
+            int expectedCount = sequential.compute();
+
+            for (int parallelism : new int[]{1, 2, 4}) {
+                ParallelSCC parallel = new ParallelSCC(graph, new Metrics(), parallelism);
+                assertEquals(expectedCount, parallel.compute());
+                assertArrayEquals(canonical(sequential.getComponentIds(), expectedCount),
+                        canonical(parallel.getComponentIds(), expectedCount));
+            }
+        }
+    }
+
+    @Test
+    void testCondensationIsAcyclic() {
+        CsrGraph graph = TestGraphs.randomDigraph(30_000, 36_000, 7);
+        ParallelSCC scc = new ParallelSCC(graph, new Metrics(), 4);
+        List<List<Integer>> condensation = scc.buildCondensationGraph();
+
+        // A DAG of components has exactly one SCC per component
+        IterativeSCC check = new IterativeSCC(condensation.size(), condensation, new Metrics());
+        assertEquals(condensation.size(), check.compute());
+    }
+
+    @Test
+    void testFactoryHonoursParallelism() {
+        CsrGraph graph = TestGraphs.randomDigraph(10, 10, 1);
+        assertTrue(SCCFinder.forParallelism(graph, new Metrics(), 1) instanceof IterativeSCC);
+        assertTrue(SCCFinder.forParallelism(graph, new Metrics(), 4) instanceof ParallelSCC);
+    }
+}
@@ -0,0 +1,79 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+
+    private static CsrGraph randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            // Mostly forward edges with a few backward ones, so there are some cycles.
+            to[i] = random.nextInt(10) == 0 ? random.nextInt(n) : Math.min(n - 1, from[i] + 1 + random.nextInt(20));
+        }
+        return CsrGraph.fromEdges(n, 0, from, to, null, m);
+    }
+
+    private static boolean[][] bruteForce(CsrGraph graph) {
+        int n = graph.nodeCount();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(s);
+            reach[s][s] = true;
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    if (!reach[s][graph.target(e)]) {
+                        reach[s][graph.target(e)] = true;
+                        queue.add(graph.target(e));
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+
+    private static void assertMatchesBruteForce(long closureBudget) {
+        CsrGraph graph = randomGraph(300, 500, 17);
+        boolean[][] expected = bruteForce(graph);
+        ReachabilityIndex index = ReachabilityIndex.build(graph, new Metrics(), closureBudget);
+        assertEquals(closureBudget > 0, index.hasClosure());
+
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                assertEquals(expected[u][v], index.reaches(u, v), u + " -> " + v);
+            }
+        }
+    }
+
+    @Test
+    void testLabelsWithClosureFallback() {
+        assertMatchesBruteForce(ReachabilityIndex.DEFAULT_CLOSURE_BUDGET);
+    }
+
+    @Test
+    void testLabelsWithSearchFallback() {
+        assertMatchesBruteForce(0);
+    }
+
+    @Test
+    void testBulkQueriesAndStats() {
+        // 0 -> 1 -> 2 -> 0 is one component, 2 -> 3, 4 isolated
+        CsrGraph graph = CsrGraph.fromEdges(5, 0, new int[]{0, 1, 2, 2}, new int[]{1, 2, 0, 3}, null, 4);
+        ReachabilityIndex index = ReachabilityIndex.build(graph, new Metrics(), 0);
+
+        boolean[] result = index.reaches(new int[]{2, 1, 3, 0, 4}, new int[]{0, 3, 0, 4, 4});
+        assertArrayEquals(new boolean[]{true, true, false, false, true}, result);
+        assertEquals(3, index.getComponentCount());
+        assertEquals(5, Arrays.stream(index.getAnswerCounts()).sum());
+        assertTrue(index.bytesPerNode() > 0);
+        assertTrue(index.statsReport().startsWith("ReachabilityIndex[nodes=5, components=3"));
+    }
+}
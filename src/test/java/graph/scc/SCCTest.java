@@ -1,6 +1,7 @@
 package graph.scc;
 
 import graph.Metrics;
+import graph.model.CsrGraph;
 import org.junit.jupiter.api.Test;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -148,6 +149,25 @@ class SCCTest {
         assertEquals(3, condensation.size());
     }
 
+    @Test
+    void testComponentArraysFollowTheLists() {
+        // Test: 0 -> 1 -> 2 -> 0, 3 -> 4
+        CsrGraph graph = CsrGraph.fromEdges(5, 0, new int[]{0, 1, 2, 3}, new int[]{1, 2, 0, 4}, null, 4);
+        SCC scc = new SCC(graph, new Metrics());
+        List<List<Integer>> components = scc.findSCCs();
+
+        int[] offsets = scc.getComponentOffsets();
+        int[] members = scc.getComponentMembers();
+        assertEquals(components.size() + 1, offsets.length);
+        for (int c = 0; c < components.size(); c++) {
+            List<Integer> flat = new ArrayList<>();
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                flat.add(members[i]);
+            }
+            assertEquals(components.get(c), flat);
+        }
+    }
+
     @Test
     void testSCCPerformanceMetrics() {
         // Test that metrics are being collected
@@ -166,8 +186,31 @@ class SCCTest {
         scc.findSCCs();
 
         // Should have recorded some DFS visits and edges
-        assertTrue(metrics.dfsVisits > 0);
-        assertTrue(metrics.dfsEdges > 0);
+        assertTrue(metrics.getDfsVisits() > 0);
+        assertTrue(metrics.getDfsEdges() > 0);
         assertTrue(metrics.getElapsedTime() >= 0);
     }
+
+    @Test
+    void testGraphViewMatchesAdjacencyLists() {
+        Random random = new Random(5);
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(50);
+            List<List<Integer>> graph = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                graph.add(new ArrayList<>());
+            }
+            for (int i = random.nextInt(3 * n); i > 0; i--) {
+                graph.get(random.nextInt(n)).add(random.nextInt(n));
+            }
+
+            Metrics listMetrics = new Metrics();
+            Metrics viewMetrics = new Metrics();
+            SCC fromLists = new SCC(n, graph, listMetrics);
+            SCC fromView = new SCC(CsrGraph.fromAdjacency(graph), viewMetrics);
+            assertEquals(fromLists.findSCCs(), fromView.findSCCs());
+            assertEquals(fromLists.buildCondensationGraph(), fromView.buildCondensationGraph());
+            assertEquals(listMetrics.getDfsEdges(), viewMetrics.getDfsEdges());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package graph.scc;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.gen.GraphGenerator;
+import graph.io.BinaryGraphFormat;
+import graph.io.MappedGraph;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.topo.SemiExternalTopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemiExternalSCCTest {
+    // Enough for the per-node state of these graphs plus the smallest buffers, so every pass refills many times.
+    private static final long SMALL_BUDGET = 128L << 10;
+
+    private static void assertSameComponents(GraphView graph, int[] expected, int[] actual) {
+        Map<Integer, Integer> mapping = new HashMap<>();
+        Map<Integer, Integer> reverse = new HashMap<>();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            assertEquals(expected[v], (int) mapping.getOrDefault(actual[v], expected[v]), "node " + v);
+            assertEquals(actual[v], (int) reverse.getOrDefault(expected[v], actual[v]), "node " + v);
+            mapping.put(actual[v], expected[v]);
+            reverse.put(expected[v], actual[v]);
+        }
+    }
+
+    private static void assertValidOrder(GraphView graph, int[] componentId, int[] nodeOrder) {
+        int[] position = new int[graph.nodeCount()];
+        assertEquals(graph.nodeCount(), nodeOrder.length);
+        for (int i = 0; i < nodeOrder.length; i++) {
+            position[nodeOrder[i]] = i;
+        }
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                assertTrue(componentId[u] == componentId[v] || position[u] < position[v], u + " -> " + v);
+            }
+        }
+    }
+
+    @Test
+    void testMatchesInMemoryComponents(@TempDir Path dir) throws Exception {
+        for (GraphGenerator.Family family : GraphGenerator.Family.values()) {
+            Path file = dir.resolve(family + ".bin");
+            new GraphGenerator(family, 3000, 11).writeBinary(file);
+            MappedGraph graph = MappedGraph.open(file);
+
+            IterativeSCC inMemory = new IterativeSCC(graph, new Metrics());
+            Metrics metrics = new Metrics();
+            SemiExternalSCC external = new SemiExternalSCC(file, SMALL_BUDGET, metrics);
+
+            assertEquals(inMemory.compute(), external.compute(), family.toString());
+            assertSameComponents(graph, inMemory.getComponentIds(), external.getComponentIds());
+            assertEquals((long) external.getPasses() * (4L * (graph.nodeCount() + 1) + 4L * graph.edgeCount()),
+                    external.getBytesRead());
+            assertEquals(1, metrics.latency(Metrics.Phase.SCC).getCount());
+
+            SemiExternalTopologicalSort topo = new SemiExternalTopologicalSort(file, SMALL_BUDGET, metrics);
+            int[] componentOrder = topo.sort(external.getComponentIds(), external.getComponentCount());
+            assertEquals(external.getComponentCount(), componentOrder.length);
+            int[] nodeOrder = SemiExternalTopologicalSort.nodeOrder(external.getComponentIds(), componentOrder);
+            assertValidOrder(graph, external.getComponentIds(), nodeOrder);
+            assertTrue(topo.getBytesRead() > 0);
+        }
+    }
+
+    @Test
+    void testChainsConvergeInFewPasses(@TempDir Path dir) throws Exception {
+        // Edges point towards lower ids, against the file order; alternating passes still cover them at once.
+        int n = 5000;
+        int[] from = new int[n];
+        int[] to = new int[n];
+        for (int v = 1; v < n; v++) {
+            from[v - 1] = v;
+            to[v - 1] = v - 1;
+        }
+        from[n - 1] = 0;
+        to[n - 1] = n - 1;
+        Path file = dir.resolve("ring.bin");
+        BinaryGraphFormat.write(CsrGraph.fromEdges(n, 0, from, to, null, n), "edge", file);
+
+        SemiExternalSCC scc = new SemiExternalSCC(file, SMALL_BUDGET, new Metrics());
+        assertEquals(1, scc.compute());
+        assertTrue(scc.getPasses() <= 6, scc.ioReport());
+
+        BinaryGraphFormat.write(CsrGraph.fromEdges(n, 0, from, to, null, n - 1), "edge", file);
+        SemiExternalTopologicalSort topo = new SemiExternalTopologicalSort(file, SMALL_BUDGET, new Metrics());
+        int[] order = topo.sort();
+        assertEquals(n - 1, order[0]);
+        assertEquals(0, order[n - 1]);
+        assertEquals(n, topo.getLevelCount());
+        assertTrue(topo.getPasses() <= 3, topo.ioReport());
+
+        // Without the ring edge every node is its own component, and coloring would peel one per round.
+        SemiExternalSCC dag = new SemiExternalSCC(file, SMALL_BUDGET, new Metrics());
+        assertEquals(n, dag.compute());
+        assertTrue(dag.getRounds() <= 2, dag.ioReport());
+        assertTrue(dag.getPasses() <= 6, dag.ioReport());
+    }
+
+    @Test
+    void testTrimmingMatchesInMemoryComponents(@TempDir Path dir) throws Exception {
+        for (int seed = 0; seed < 20; seed++) {
+            int n = 50 + 20 * seed;
+            CsrGraph graph = TestGraphs.randomDigraph(n, n + n / 3, seed);
+            Path file = dir.resolve("random-" + seed + ".bin");
+            BinaryGraphFormat.write(graph, "edge", file);
+
+            IterativeSCC inMemory = new IterativeSCC(graph, new Metrics());
+            SemiExternalSCC external = new SemiExternalSCC(file, SMALL_BUDGET, new Metrics());
+            assertEquals(inMemory.compute(), external.compute(), "seed " + seed);
+            assertSameComponents(graph, inMemory.getComponentIds(), external.getComponentIds());
+        }
+    }
+
+    @Test
+    void testBudgetAndCycleErrors(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("cycle.bin");
+        BinaryGraphFormat.write(CsrGraph.fromEdges(3, 0, new int[]{0, 1, 2}, new int[]{1, 2, 0}, null, 3), "edge", file);
+
+        assertThrows(IllegalArgumentException.class, () -> new SemiExternalSCC(file, 1024, new Metrics()).compute());
+        assertThrows(IllegalStateException.class,
+                () -> new SemiExternalTopologicalSort(file, SMALL_BUDGET, new Metrics()).sort());
+    }
+}
@@ -0,0 +1,156 @@
+package graph.server;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryServerTest {
+    private GraphRegistry registry;
+    private DistanceCache cache;
+    private QueryServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Metrics metrics = new Metrics();
+        registry = new GraphRegistry(metrics);
+        // 0 -> 1 -> 2 -> 3 costs 9, the direct edge 0 -> 3 costs 10
+        registry.put("g", CsrGraph.fromEdges(4, 0,
+                new int[]{0, 1, 0, 2}, new int[]{1, 2, 3, 3}, new int[]{2, 3, 10, 4}, 4));
+        // 0 -> 1 -> 2 -> 1 collapses into three components
+        registry.put("cyclic", CsrGraph.fromEdges(4, 0,
+                new int[]{0, 1, 2, 2}, new int[]{1, 2, 1, 3}, new int[]{1, 1, 1, 1}, 4));
+        cache = new DistanceCache(8);
+        server = new QueryServer(registry, cache, metrics);
+        server.start(new InetSocketAddress("127.0.0.1", 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testAnalysisIsCachedPerVersion() {
+        GraphAnalysis analysis = registry.get("cyclic");
+        assertEquals(3, analysis.getComponentCount());
+        assertEquals(4, analysis.getNodeOrder().length);
+
+        GraphAnalysis replaced = registry.put("cyclic", analysis.getGraph());
+        assertTrue(replaced.getVersion() > analysis.getVersion());
+    }
+
+    @Test
+    void testPathQueriesHitTheCache() throws Exception {
+        HttpResponse<String> first = get("/paths?graph=g&source=0&mode=shortest&target=3");
+        assertEquals(200, first.statusCode());
+        assertTrue(first.body().contains("\"distance\":9"), first.body());
+        assertTrue(first.body().contains("\"path\":[0,1,2,3]"), first.body());
+
+        get("/paths?graph=g&source=0&mode=shortest");
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        HttpResponse<String> critical = get("/critical?graph=g");
+        assertTrue(critical.body().contains("\"distance\":10"), critical.body());
+        assertEquals(2, cache.getMisses());
+
+        HttpResponse<String> stats = get("/stats");
+        assertTrue(stats.body().contains("\"hit_ratio\""), stats.body());
+        assertTrue(stats.body().contains("\"p99\""), stats.body());
+        assertEquals(4, server.getRequestLatency().getCount());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        assertEquals(404, get("/paths?graph=missing").statusCode());
+        assertEquals(400, get("/paths?graph=g&source=9").statusCode());
+        assertEquals(400, get("/paths?graph=g&mode=sideways").statusCode());
+    }
+
+    @Test
+    void testUnexpectedFailureIsAnsweredWith500() throws Exception {
+        CsrGraph csr = CsrGraph.fromEdges(2, 0, new int[]{0}, new int[]{1}, new int[]{1}, 1);
+        boolean[] broken = new boolean[1];
+        GraphView flaky = new GraphView() {
+            @Override
+            public int nodeCount() {
+                return csr.nodeCount();
+            }
+
+            @Override
+            public int edgeCount() {
+                return csr.edgeCount();
+            }
+
+            @Override
+            public int getSource() {
+                return csr.getSource();
+            }
+
+            @Override
+            public int edgeStart(int u) {
+                return csr.edgeStart(u);
+            }
+
+            @Override
+            public int edgeEnd(int u) {
+                return csr.edgeEnd(u);
+            }
+
+            @Override
+            public int target(int e) {
+                return csr.target(e);
+            }
+
+            @Override
+            public int weight(int e) {
+                if (broken[0]) {
+                    throw new UnsupportedOperationException("weights unavailable");
+                }
+                return csr.weight(e);
+            }
+        };
+        registry.put("flaky", flaky);
+        broken[0] = true;
+
+        long before = server.getRequestLatency().getCount();
+        HttpResponse<String> response = get("/paths?graph=flaky&source=0");
+        assertEquals(500, response.statusCode());
+        assertTrue(response.body().contains("weights unavailable"), response.body());
+        // The sample is recorded just after the response is written.
+        for (int wait = 0; wait < 100 && server.getRequestLatency().getCount() == before; wait++) {
+            Thread.sleep(10);
+        }
+        assertEquals(before + 1, server.getRequestLatency().getCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        DistanceCache small = new DistanceCache(2);
+        GraphAnalysis analysis = registry.get("g");
+        Metrics metrics = new Metrics();
+        for (int source : new int[]{0, 1, 0, 2, 1}) {
+            small.get(analysis, source, false, () -> analysis.paths(source, false, metrics));
+        }
+        assertEquals(2, small.size());
+        assertEquals(1, small.getHits());
+        assertEquals(4, small.getMisses());
+    }
+}
@@ -0,0 +1,100 @@
+package graph.topo;
+
+import graph.Metrics;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicTopologicalOrderTest {
+
+    private static void assertValid(DynamicTopologicalOrder order, List<int[]> edges, int n) {
+        for (int[] edge : edges) {
+            int cu = order.componentOf(edge[0]);
+            int cv = order.componentOf(edge[1]);
+            assertTrue(cu == cv || order.precedes(edge[0], edge[1]),
+                    "Edge " + edge[0] + " -> " + edge[1] + " points backwards");
+        }
+
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = edges.get(i)[0];
+            to[i] = edges.get(i)[1];
+        }
+        IterativeSCC scc = new IterativeSCC(CsrGraph.fromEdges(n, 0, from, to, null, edges.size()), new Metrics());
+        assertEquals(scc.compute(), order.getComponentCount());
+        int[] ids = scc.getComponentIds();
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                assertEquals(ids[u] == ids[v], order.componentOf(u) == order.componentOf(v));
+            }
+        }
+    }
+
+    @Test
+    void testBackwardEdgeReorders() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(4, new Metrics());
+        assertFalse(order.addEdge(3, 0));
+        assertTrue(order.precedes(3, 0));
+        assertFalse(order.addEdge(2, 3));
+        assertTrue(order.precedes(2, 3));
+        assertTrue(order.precedes(2, 0));
+        assertEquals(4, order.getComponentCount());
+    }
+
+    @Test
+    void testCycleMergesComponents() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(5, new Metrics());
+        order.addEdge(0, 1);
+        order.addEdge(1, 2);
+        order.addEdge(2, 3);
+        order.addEdge(3, 4);
+
+        assertTrue(order.addEdge(3, 1));
+        assertEquals(3, order.getComponentCount());
+        assertEquals(order.componentOf(1), order.componentOf(3));
+        assertEquals(order.componentOf(2), order.componentOf(3));
+        assertTrue(order.precedes(0, 2));
+        assertTrue(order.precedes(2, 4));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, sorted(order.nodeOrder()));
+    }
+
+    @Test
+    void testStartsFromExistingGraph() {
+        // 0 -> 1 -> 0 forms a component, 2 -> 0
+        CsrGraph graph = CsrGraph.fromEdges(3, 0, new int[]{0, 1, 2}, new int[]{1, 0, 0}, null, 3);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph, new Metrics());
+
+        assertEquals(2, order.getComponentCount());
+        assertTrue(order.precedes(2, 0));
+        assertTrue(order.addEdge(1, 2));
+        assertEquals(1, order.getComponentCount());
+        assertEquals(1, order.componentOrder().length);
+    }
+
+    @Test
+    void testRandomInsertionsMatchRecompute() {
+        Random random = new Random(11);
+        int n = 60;
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(n, new Metrics());
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            edges.add(new int[]{u, v});
+            order.addEdge(u, v);
+            if (i % 10 == 9) {
+                assertValid(order, edges, n);
+            }
+        }
+        assertValid(order, edges, n);
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,68 @@
+package graph.topo;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelTopologicalSortTest {
+
+    @Test
+    void testLevelsOfDiamond() {
+        // Test: 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3
+        CsrGraph graph = CsrGraph.fromEdges(4, 0, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, null, 4);
+        Metrics metrics = new Metrics();
+
+        int[][] levels = new LevelTopologicalSort(metrics).levelTopoSort(graph);
+
+        assertEquals(3, levels.length);
+        assertArrayEquals(new int[]{0}, levels[0]);
+        assertArrayEquals(new int[]{1, 2}, levels[1]);
+        assertArrayEquals(new int[]{3}, levels[2]);
+        assertEquals(4L, metrics.getKahnPops());
+    }
+
+    @Test
+    void testParallelLevelsMatchSequential() {
+        CsrGraph graph = TestGraphs.randomDag(50_000, 200_000, 3);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[][] sequential = new LevelTopologicalSort(new Metrics(), pool, Integer.MAX_VALUE).levelTopoSort(graph);
+            int[][] parallel = new LevelTopologicalSort(new Metrics(), pool, 1).levelTopoSort(graph);
+
+            assertEquals(sequential.length, parallel.length);
+            int[] level = new int[graph.n];
+            for (int k = 0; k < parallel.length; k++) {
+                int[] expected = sequential[k].clone();
+                int[] actual = parallel[k].clone();
+                Arrays.sort(expected);
+                Arrays.sort(actual);
+                assertArrayEquals(expected, actual);
+                for (int v : actual) {
+                    level[v] = k;
+                }
+            }
+
+            // Every edge goes strictly forward in levels
+            for (int u = 0; u < graph.n; u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    assertTrue(level[u] < level[graph.target(e)]);
+                }
+            }
+            assertEquals(graph.n, LevelTopologicalSort.flatten(parallel).length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testCycleNodesAreLeftOut() {
+        // Test: 0 -> 1 -> 2 -> 1
+        CsrGraph graph = CsrGraph.fromEdges(3, 0, new int[]{0, 1, 2}, new int[]{1, 2, 1}, null, 3);
+        int[][] levels = new LevelTopologicalSort(new Metrics()).levelTopoSort(graph);
+        assertArrayEquals(new int[]{0}, LevelTopologicalSort.flatten(levels));
+    }
+}
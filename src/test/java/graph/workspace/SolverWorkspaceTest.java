@@ -0,0 +1,96 @@
+package graph.workspace;
+
+import graph.Metrics;
+import graph.TestGraphs;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CsrGraph;
+import graph.scc.IterativeSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverWorkspaceTest {
+
+    @Test
+    void testComponentsAndOrderMatchIterativeSCC() {
+        CsrGraph graph = TestGraphs.randomDigraph(200, 260, 4);
+        int n = graph.nodeCount();
+        int[] componentId = new int[n];
+        int[] order = new int[n];
+        int count = new SolverWorkspace(new Metrics()).solve(graph, false, componentId, order, null, null);
+
+        IterativeSCC scc = new IterativeSCC(graph, new Metrics());
+        assertEquals(scc.compute(), count);
+        int[] expected = scc.getComponentIds();
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                assertEquals(expected[u] == expected[v], componentId[u] == componentId[v]);
+                assertTrue(componentId[u] <= componentId[v], "component ids must follow the topological order");
+            }
+        }
+        int[] seen = order.clone();
+        Arrays.sort(seen);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, seen[i]);
+        }
+    }
+
+    @Test
+    void testDistancesMatchDAGShortestPath() {
+        SolverWorkspace workspace = new SolverWorkspace(new Metrics());
+        int[] componentId = new int[10];
+        int[] order = new int[10];
+        int[] dist = new int[10];
+        int[] predecessor = new int[10];
+
+        for (int size : new int[]{500, 50, 1000}) {
+            CsrGraph graph = TestGraphs.randomDag(size, size * 3, size);
+            if (componentId.length < size) {
+                componentId = new int[size];
+                order = new int[size];
+                dist = new int[size];
+                predecessor = new int[size];
+            }
+            int[] topo = new TopologicalSort(new Metrics()).kahnTopoSort(graph);
+            DAGShortestPath sp = new DAGShortestPath(new Metrics());
+
+            workspace.solve(graph, false, componentId, order, dist, predecessor);
+            assertArrayEquals(sp.shortestPath(graph, topo), Arrays.copyOf(dist, size));
+            workspace.solve(graph, true, componentId, order, dist, predecessor);
+            assertArrayEquals(sp.longestPath(graph, topo), Arrays.copyOf(dist, size));
+        }
+        assertEquals(1000, workspace.getCapacity());
+    }
+
+    @Test
+    void testSteadyStateDoesNotAllocate() {
+        CsrGraph[] graphs = {TestGraphs.randomDigraph(8, 12, 1), TestGraphs.randomDag(12, 20, 2),
+                TestGraphs.randomDigraph(10, 15, 3)};
+        SolverWorkspace workspace = new SolverWorkspace(new Metrics());
+        int[] componentId = new int[16];
+        int[] order = new int[16];
+        int[] dist = new int[16];
+        int[] predecessor = new int[16];
+        for (int i = 0; i < 20_000; i++) {
+            workspace.solve(graphs[i % 3], (i & 1) == 0, componentId, order, dist, predecessor);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 20_000; i++) {
+            workspace.solve(graphs[i % 3], (i & 1) == 0, componentId, order, dist, predecessor);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes in steady state");
+    }
+
+    @Test
+    void testRejectsShortBuffers() {
+        CsrGraph graph = TestGraphs.randomDag(8, 10, 5);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SolverWorkspace(new Metrics()).solve(graph, false, new int[8], new int[7], null, null));
+    }
+}